@@ -3,10 +3,12 @@ package com.bridgelabz.campaign;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 
 @SpringBootApplication
 @EnableDiscoveryClient
+@EnableScheduling
 public class CampaignApplication {
     public static void main(String[] args) {
         SpringApplication.run(CampaignApplication.class, args);
@@ -0,0 +1,111 @@
+package com.bridgelabz.campaign.configuration;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.pool.PoolMetrics;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sizes the warm part of the connection pool from recent demand.
+ * <p>
+ * Demand (acquired plus pending connections) is sampled every tick and smoothed so it rises at
+ * once and decays slowly. When fewer connections are open than demand times the headroom, the
+ * missing ones are opened ahead of the next burst. Connections above the target are handed to
+ * {@link IdleEvictionPolicy} as surplus, so background eviction closes idle ones past
+ * spring.r2dbc.pool.max-idle-time down to the target and leaves the target's connections open.
+ */
+@Component
+@ConditionalOnProperty(name = "campaign.pool.adaptive.enabled", havingValue = "true", matchIfMissing = true)
+public class AdaptivePoolManager {
+
+    private static final Logger logger = LogManager.getLogger(AdaptivePoolManager.class);
+
+    private final TimedConnectionPool connectionPool;
+    private final IdleEvictionPolicy idleEvictionPolicy;
+    private final double headroom;
+    private final double decay;
+    private final int minWarm;
+    private final AtomicBoolean warming = new AtomicBoolean();
+    private final Counter warmDecisions;
+    private final Counter shrinkDecisions;
+    private final Counter holdDecisions;
+    private final Counter warmedConnections;
+    private volatile double demand;
+    private volatile int target;
+
+    @Autowired
+    public AdaptivePoolManager(TimedConnectionPool connectionPool, IdleEvictionPolicy idleEvictionPolicy, MeterRegistry meterRegistry,
+                               @Value("${campaign.pool.adaptive.headroom:1.5}") double headroom,
+                               @Value("${campaign.pool.adaptive.decay:0.1}") double decay,
+                               @Value("${campaign.pool.adaptive.min-warm:${spring.r2dbc.pool.initial-size:2}}") int minWarm) {
+        this.connectionPool = connectionPool;
+        this.idleEvictionPolicy = idleEvictionPolicy;
+        this.headroom = headroom;
+        this.decay = decay;
+        this.minWarm = minWarm;
+        this.target = minWarm;
+        this.warmDecisions = decisionCounter(meterRegistry, "warm");
+        this.shrinkDecisions = decisionCounter(meterRegistry, "shrink");
+        this.holdDecisions = decisionCounter(meterRegistry, "hold");
+        this.warmedConnections = Counter.builder("r2dbc.pool.adaptive.warmed")
+                .description("Connections opened ahead of demand")
+                .register(meterRegistry);
+        Gauge.builder("r2dbc.pool.adaptive.demand", this, manager -> manager.demand)
+                .description("Smoothed acquired plus pending connections")
+                .register(meterRegistry);
+        Gauge.builder("r2dbc.pool.adaptive.target", this, manager -> manager.target)
+                .description("Connections the pool is kept warm at")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedRateString = "${campaign.pool.adaptive.interval:1000}")
+    public void adjust() {
+        PoolMetrics metrics = connectionPool.getMetrics().orElse(null);
+        if (metrics == null) {
+            return;
+        }
+        double sampled = metrics.acquiredSize() + metrics.pendingAcquireSize();
+        // Rise with a burst immediately, fall back gradually so the next burst still finds connections
+        demand = sampled >= demand ? sampled : demand - (demand - sampled) * decay;
+        target = Math.max(minWarm, Math.min(metrics.getMaxAllocatedSize(), (int) Math.ceil(demand * headroom)));
+        int allocated = metrics.allocatedSize();
+        int surplus = Math.min(allocated - target, metrics.idleSize());
+        idleEvictionPolicy.surplus(surplus);
+        if (allocated < target) {
+            warm(target - allocated);
+        } else if (surplus > 0) {
+            // Up to this many idle connections are closed by the next eviction run that finds them past max-idle-time
+            shrinkDecisions.increment();
+        } else {
+            holdDecisions.increment();
+        }
+    }
+
+    private void warm(int connections) {
+        if (!warming.compareAndSet(false, true)) {
+            return;
+        }
+        warmDecisions.increment();
+        logger.debug("Warming {} connections, demand {} target {}", connections, demand, target);
+        connectionPool.prewarm(connections)
+                .doFinally(signal -> warming.set(false))
+                .subscribe(count -> warmedConnections.increment(count),
+                        e -> logger.warn("Error occurred while warming the connection pool: {}", e.getMessage()));
+    }
+
+    private static Counter decisionCounter(MeterRegistry meterRegistry, String action) {
+        return Counter.builder("r2dbc.pool.adaptive.decisions")
+                .description("Adaptive pool sizing decisions per tick")
+                .tag("action", action)
+                .register(meterRegistry);
+    }
+}
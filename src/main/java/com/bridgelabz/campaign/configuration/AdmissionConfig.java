@@ -0,0 +1,29 @@
+package com.bridgelabz.campaign.configuration;
+
+import com.bridgelabz.campaign.utility.ConcurrencyLimiter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "campaign.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionConfig {
+
+    // Cap on in-flight database work, sized to the connection pool. Shared by AdmissionControlFilter,
+    // which gates whole requests, and CampaignBatchLoader, which gates cache misses at the query itself
+    @Bean
+    public ConcurrencyLimiter databaseLimiter(MeterRegistry meterRegistry,
+                                              @Value("${campaign.admission.max-in-flight:${spring.r2dbc.pool.max-size:10}}") int maxInFlight,
+                                              @Value("${campaign.admission.max-queued:200}") int maxQueued,
+                                              @Value("${campaign.admission.queue-budget:PT0.5S}") Duration queueBudget) {
+        ConcurrencyLimiter databaseLimiter = new ConcurrencyLimiter(maxInFlight, maxQueued, queueBudget);
+        Gauge.builder("campaign.admission.in_flight", databaseLimiter, ConcurrencyLimiter::inFlight).register(meterRegistry);
+        Gauge.builder("campaign.admission.queued", databaseLimiter, ConcurrencyLimiter::queued).register(meterRegistry);
+        return databaseLimiter;
+    }
+}
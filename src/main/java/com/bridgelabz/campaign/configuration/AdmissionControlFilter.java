@@ -0,0 +1,151 @@
+package com.bridgelabz.campaign.configuration;
+
+import com.bridgelabz.campaign.utility.ConcurrencyLimiter;
+import com.bridgelabz.campaign.utility.ResponseMessage;
+import com.bridgelabz.campaign.utility.TokenBucket;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Admission control for /campaign requests that reach the database.
+ * <p>
+ * Each client gets a token bucket and is answered 429 once it is empty. The client is the remote
+ * address, unless that address is a configured trusted proxy: then X-Forwarded-For is walked from
+ * the right past further trusted proxies, so a client cannot pick its own key by sending the header. Admitted requests then share a cap on in-flight database work,
+ * sized to the connection pool; a request that cannot start within the queue budget is answered
+ * 503 instead of waiting for a pool timeout. Both carry Retry-After. Endpoints served from memory
+ * bypass both checks, and so does a single-campaign read: most of those are cache hits or 304s, and
+ * the cache misses take the same database cap in {@link com.bridgelabz.campaign.service.CampaignBatchLoader}
+ * at the query itself.
+ */
+@Component
+@ConditionalOnProperty(name = "campaign.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControlFilter implements WebFilter {
+
+    private static final Logger logger = LogManager.getLogger(AdmissionControlFilter.class);
+    private static final String GUARDED_PREFIX = "/campaign/";
+    private static final Set<String> MEMORY_PATHS = Set.of("/campaign/live", "/campaign/starting", "/campaign/ending",
+            "/campaign/cache/stats", "/campaign/changes", "/campaign/statistics");
+    private static final Pattern CAMPAIGN_READ = Pattern.compile("/campaign/get/\\d+");
+
+    private final Environment env;
+    private final ObjectMapper objectMapper;
+    private final double ratePerSecond;
+    private final int burst;
+    private final Set<String> trustedProxies;
+    private final Cache<String, TokenBucket> buckets;
+    private final ConcurrencyLimiter databaseLimiter;
+    private final Counter rateLimited;
+    private final Counter overloaded;
+
+    @Autowired
+    public AdmissionControlFilter(Environment env, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                                  @Value("${campaign.admission.rate-per-second:50}") double ratePerSecond,
+                                  @Value("${campaign.admission.burst:100}") int burst,
+                                  @Value("${campaign.admission.max-clients:100000}") long maxClients,
+                                  ConcurrencyLimiter databaseLimiter,
+                                  @Value("${campaign.admission.trusted-proxies:}") Set<String> trustedProxies) {
+        this.env = env;
+        this.objectMapper = objectMapper;
+        this.ratePerSecond = ratePerSecond;
+        this.burst = burst;
+        this.trustedProxies = Set.copyOf(trustedProxies);
+        // An idle client's bucket is full again after burst / rate seconds, so it can simply be dropped
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(Duration.ofMillis((long) Math.ceil(burst / ratePerSecond * 1000)).plusSeconds(1))
+                .build();
+        this.databaseLimiter = databaseLimiter;
+        this.rateLimited = Counter.builder("campaign.admission.rejected").tag("reason", "rate_limited").register(meterRegistry);
+        this.overloaded = Counter.builder("campaign.admission.rejected").tag("reason", "overloaded").register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String path = exchange.getRequest().getPath().pathWithinApplication().value();
+        if (!path.startsWith(GUARDED_PREFIX) || MEMORY_PATHS.contains(path) || isCampaignRead(exchange, path)) {
+            return chain.filter(exchange);
+        }
+        String client = clientKey(exchange);
+        long waitNanos = buckets.get(client, key -> new TokenBucket(ratePerSecond, burst)).tryConsume();
+        if (waitNanos > 0) {
+            rateLimited.increment();
+            logger.debug("Rate limit exceeded for client {} on {}", client, path);
+            return reject(exchange, HttpStatus.TOO_MANY_REQUESTS, "error.rateLimited", TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1);
+        }
+        return databaseLimiter.run(chain.filter(exchange))
+                .onErrorResume(ConcurrencyLimiter.RejectedException.class, e -> {
+                    overloaded.increment();
+                    logger.warn("Shedding {} {}: {}", exchange.getRequest().getMethod(), path, e.getMessage());
+                    return reject(exchange, HttpStatus.SERVICE_UNAVAILABLE, "error.overloaded", e.getRetryAfterSeconds());
+                });
+    }
+
+    private static boolean isCampaignRead(ServerWebExchange exchange, String path) {
+        return HttpMethod.GET.equals(exchange.getRequest().getMethod()) && CAMPAIGN_READ.matcher(path).matches();
+    }
+
+    private String clientKey(ServerWebExchange exchange) {
+        InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+        String client = remoteAddress == null || remoteAddress.getAddress() == null ? "unknown" : remoteAddress.getAddress().getHostAddress();
+        if (!trustedProxies.contains(client)) {
+            return client;
+        }
+        String forwardedFor = String.join(",", exchange.getRequest().getHeaders().getOrEmpty("X-Forwarded-For"));
+        String[] hops = forwardedFor.split(",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (hop.isEmpty()) {
+                continue;
+            }
+            client = hop;
+            if (!trustedProxies.contains(hop)) {
+                break;
+            }
+        }
+        return client;
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, HttpStatus status, String messageKey, long retryAfterSeconds) {
+        ServerHttpResponse response = exchange.getResponse();
+        if (response.isCommitted()) {
+            return Mono.empty();
+        }
+        response.setStatusCode(status);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(new ResponseMessage(status.value(), env.getProperty(messageKey), null));
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        } catch (JsonProcessingException e) {
+            logger.error("Error occurred while writing the admission rejection", e);
+            return response.setComplete();
+        }
+    }
+}
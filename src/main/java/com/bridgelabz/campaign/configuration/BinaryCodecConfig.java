@@ -0,0 +1,50 @@
+package com.bridgelabz.campaign.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Binary encodings for service-to-service callers, picked by the Accept header:
+ * application/cbor uses {@link ResponseMessageCborEncoder}; application/x-jackson-smile uses
+ * WebFlux's default Smile codec. JSON stays the default for everyone else.
+ */
+@Configuration
+public class BinaryCodecConfig implements WebFluxConfigurer {
+
+    // Instants travel as epoch milliseconds instead of ISO-8601 strings
+    public static ObjectMapper cborMapper() {
+        return Jackson2ObjectMapperBuilder.cbor()
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .featuresToDisable(SerializationFeature.WRITE_DATE_TIMESTAMPS_AS_NANOSECONDS)
+                .build();
+    }
+
+    // Every response message text the service sends unchanged, pre-encoded by ResponseMessageCborEncoder
+    public static List<String> knownMessages() {
+        try {
+            Properties messages = PropertiesLoaderUtils.loadProperties(new ClassPathResource("message.properties"));
+            return messages.stringPropertyNames().stream().map(messages::getProperty).toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read message.properties", e);
+        }
+    }
+
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        ObjectMapper cborMapper = cborMapper();
+        configurer.customCodecs().register(new ResponseMessageCborEncoder(cborMapper, knownMessages()));
+        configurer.customCodecs().register(new Jackson2CborDecoder(cborMapper));
+    }
+}
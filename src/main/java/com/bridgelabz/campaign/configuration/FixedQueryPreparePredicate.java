@@ -0,0 +1,18 @@
+package com.bridgelabz.campaign.configuration;
+
+import java.util.function.Predicate;
+
+/**
+ * Selects the statements r2dbc-mysql should prepare server-side and keep in its per-connection cache.
+ * <p>
+ * The repository's derived and {@code @Query} statements have fixed text and are worth caching.
+ * Batch statements whose text grows with the input (multi-row VALUES, CASE updates, expanded
+ * IN lists) would only evict them, so those stay client-prepared.
+ */
+public class FixedQueryPreparePredicate implements Predicate<String> {
+
+    @Override
+    public boolean test(String sql) {
+        return !sql.contains("), (") && !sql.contains(" CASE ") && !sql.contains(" IN (");
+    }
+}
@@ -0,0 +1,46 @@
+package com.bridgelabz.campaign.configuration;
+
+import io.r2dbc.spi.Connection;
+import reactor.pool.PooledRefMetadata;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiPredicate;
+
+/**
+ * Eviction predicate for the connection pool, replacing the pool's own max-idle-time and
+ * max-life-time check.
+ * <p>
+ * Connections past max-life-time are always evicted. Idle connections past max-idle-time are
+ * evicted only while the pool holds more than it should keep warm: {@link AdaptivePoolManager}
+ * sets that surplus every tick and each eviction uses up one, so the pool shrinks down to the
+ * target and the connections within it stay open. Until a surplus is set every idle connection
+ * past max-idle-time is evicted, as the pool does by default.
+ */
+public class IdleEvictionPolicy implements BiPredicate<Connection, PooledRefMetadata> {
+
+    private final long maxIdleMillis;
+    private final long maxLifeMillis;
+    private final AtomicInteger surplus = new AtomicInteger(-1);
+
+    public IdleEvictionPolicy(Duration maxIdleTime, Duration maxLifeTime) {
+        this.maxIdleMillis = maxIdleTime == null || maxIdleTime.isNegative() ? -1 : maxIdleTime.toMillis();
+        this.maxLifeMillis = maxLifeTime == null || maxLifeTime.isNegative() ? -1 : maxLifeTime.toMillis();
+    }
+
+    // Connections above the warm target that may be closed once idle long enough
+    public void surplus(int connections) {
+        surplus.set(Math.max(0, connections));
+    }
+
+    @Override
+    public boolean test(Connection connection, PooledRefMetadata metadata) {
+        if (maxLifeMillis >= 0 && metadata.lifeTime() >= maxLifeMillis) {
+            return true;
+        }
+        if (maxIdleMillis < 0 || metadata.idleTime() < maxIdleMillis) {
+            return false;
+        }
+        return surplus.getAndUpdate(n -> n > 0 ? n - 1 : n) != 0;
+    }
+}
@@ -0,0 +1,67 @@
+package com.bridgelabz.campaign.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Option;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.PropertyMapper;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableConfigurationProperties(R2dbcProperties.class)
+public class R2dbcConfig {
+
+    private static final Option<Object> USE_SERVER_PREPARE_STATEMENT = Option.valueOf("useServerPrepareStatement");
+    private static final Option<Integer> PREPARE_CACHE_SIZE = Option.valueOf("prepareCacheSize");
+
+    @Bean
+    public IdleEvictionPolicy idleEvictionPolicy(R2dbcProperties properties) {
+        return new IdleEvictionPolicy(properties.getPool().getMaxIdleTime(), properties.getPool().getMaxLifeTime());
+    }
+
+    // Same pool Spring Boot builds from spring.r2dbc.*, declared here so acquire time can be measured
+    @Bean(destroyMethod = "dispose")
+    public TimedConnectionPool connectionFactory(R2dbcProperties properties, MeterRegistry meterRegistry,
+                                                 IdleEvictionPolicy idleEvictionPolicy,
+                                                 @Value("${campaign.r2dbc.prepare-cache-size:256}") int prepareCacheSize,
+                                                 @Value("${campaign.pool.eviction-interval:PT30S}") Duration evictionInterval) {
+        boolean mysql = "mysql".equals(ConnectionFactoryOptions.parse(properties.getUrl()).getValue(ConnectionFactoryOptions.DRIVER));
+        ConnectionFactory connectionFactory = ConnectionFactoryBuilder.withUrl(properties.getUrl())
+                .username(properties.getUsername())
+                .password(properties.getPassword())
+                .configure(options -> {
+                    if (mysql) {
+                        // Fixed repository statements are prepared once per connection and reused
+                        options.option(USE_SERVER_PREPARE_STATEMENT, new FixedQueryPreparePredicate());
+                        options.option(PREPARE_CACHE_SIZE, prepareCacheSize);
+                    }
+                })
+                .build();
+        R2dbcProperties.Pool pool = properties.getPool();
+        PropertyMapper map = PropertyMapper.get().alwaysApplyingWhenNonNull();
+        ConnectionPoolConfiguration.Builder builder = ConnectionPoolConfiguration.builder(connectionFactory);
+        map.from(pool.getMaxIdleTime()).to(builder::maxIdleTime);
+        map.from(pool.getMaxLifeTime()).to(builder::maxLifeTime);
+        map.from(pool.getMaxAcquireTime()).to(builder::maxAcquireTime);
+        map.from(pool.getMaxCreateConnectionTime()).to(builder::maxCreateConnectionTime);
+        map.from(pool.getInitialSize()).to(builder::initialSize);
+        map.from(pool.getMaxSize()).to(builder::maxSize);
+        map.from(pool.getValidationQuery()).whenHasText().to(builder::validationQuery);
+        map.from(pool.getValidationDepth()).to(builder::validationDepth);
+        map.from(pool.getMinIdle()).to(builder::minIdle);
+        map.from(pool.getMaxValidationTime()).to(builder::maxValidationTime);
+        // Idle connections past max-idle-time are closed in the background, but only down to the
+        // target AdaptivePoolManager keeps warm
+        builder.backgroundEvictionInterval(evictionInterval);
+        builder.customizer(poolBuilder -> poolBuilder.evictionPredicate(idleEvictionPolicy));
+        return new TimedConnectionPool(builder.build(), meterRegistry);
+    }
+}
@@ -0,0 +1,123 @@
+package com.bridgelabz.campaign.configuration;
+
+import com.bridgelabz.campaign.utility.ResponseMessage;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.EncodingException;
+import org.springframework.core.codec.Encoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CBOR encoder for {@link ResponseMessage} envelopes.
+ * <p>
+ * The envelope is a fixed three-entry map, so its keys, the HTTP status codes and the message texts
+ * from message.properties are encoded once at startup and copied as bytes; only {@code data} and
+ * messages with request-specific text (validation details) go through Jackson per response.
+ */
+public class ResponseMessageCborEncoder implements Encoder<ResponseMessage> {
+
+    private static final int MAP_OF_THREE = 0xA3;
+    private static final int CBOR_NULL = 0xF6;
+
+    private final ObjectMapper cborMapper;
+    private final byte[] codeKey;
+    private final byte[] messageKey;
+    private final byte[] dataKey;
+    // Both are filled in the constructor and only read afterwards
+    private final Map<Integer, byte[]> encodedCodes = new HashMap<>();
+    private final Map<String, byte[]> encodedMessages = new HashMap<>();
+
+    public ResponseMessageCborEncoder(ObjectMapper cborMapper, Collection<String> knownMessages) {
+        this.cborMapper = cborMapper;
+        this.codeKey = encode("code");
+        this.messageKey = encode("message");
+        this.dataKey = encode("data");
+        for (HttpStatus status : HttpStatus.values()) {
+            encodedCodes.put(status.value(), encode(status.value()));
+        }
+        for (String message : knownMessages) {
+            encodedMessages.put(message, encode(message));
+        }
+    }
+
+    @Override
+    public boolean canEncode(ResolvableType elementType, MimeType mimeType) {
+        return ResponseMessage.class.isAssignableFrom(elementType.toClass())
+                && mimeType != null && MediaType.APPLICATION_CBOR.isCompatibleWith(mimeType);
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(Publisher<? extends ResponseMessage> inputStream, DataBufferFactory bufferFactory,
+                                   ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
+        return Flux.from(inputStream).map(message -> encodeValue(message, bufferFactory, elementType, mimeType, hints));
+    }
+
+    @Override
+    public DataBuffer encodeValue(ResponseMessage value, DataBufferFactory bufferFactory, ResolvableType valueType,
+                                  MimeType mimeType, Map<String, Object> hints) {
+        DataBuffer buffer = bufferFactory.allocateBuffer(256);
+        boolean release = true;
+        try (OutputStream out = buffer.asOutputStream()) {
+            out.write(MAP_OF_THREE);
+            out.write(codeKey);
+            byte[] code = encodedCodes.get(value.getCode());
+            out.write(code != null ? code : encode(value.getCode()));
+            out.write(messageKey);
+            writeMessage(out, value.getMessage());
+            out.write(dataKey);
+            if (value.getData() == null) {
+                out.write(CBOR_NULL);
+            } else {
+                try (JsonGenerator generator = cborMapper.getFactory().createGenerator(out)) {
+                    generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                    cborMapper.writeValue(generator, value.getData());
+                }
+            }
+            release = false;
+            return buffer;
+        } catch (IOException e) {
+            throw new EncodingException("Could not write CBOR response envelope", e);
+        } finally {
+            if (release) {
+                DataBufferUtils.release(buffer);
+            }
+        }
+    }
+
+    @Override
+    public List<MimeType> getEncodableMimeTypes() {
+        return List.of(MediaType.APPLICATION_CBOR);
+    }
+
+    private void writeMessage(OutputStream out, String message) throws IOException {
+        if (message == null) {
+            out.write(CBOR_NULL);
+            return;
+        }
+        byte[] encoded = encodedMessages.get(message);
+        out.write(encoded != null ? encoded : encode(message));
+    }
+
+    private byte[] encode(Object value) {
+        try {
+            return cborMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new EncodingException("Could not encode " + value, e);
+        }
+    }
+}
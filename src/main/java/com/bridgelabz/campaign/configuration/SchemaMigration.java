@@ -0,0 +1,111 @@
+package com.bridgelabz.campaign.configuration;
+
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Brings an existing MySQL schema up to date. Opt-in with campaign.schema.migrate=true, typically
+ * for one start per deployment: the steps run in the background once the application is up, and a
+ * failure (database unreachable, missing privileges) is logged instead of failing startup.
+ * <p>
+ * schema.sql only creates tables that are missing, so a column or index added to (or removed from)
+ * Campaigns after a deployment first created the table would never reach it. Every step here checks information_schema
+ * first, which makes the migration safe to run on every start. Embedded databases are created from
+ * schema.sql by spring.sql.init and are left alone.
+ */
+@Component
+@ConditionalOnProperty(name = "campaign.schema.migrate", havingValue = "true")
+public class SchemaMigration implements ApplicationRunner {
+
+    private static final Logger logger = LogManager.getLogger(SchemaMigration.class);
+    private static final Map<String, String> CAMPAIGN_COLUMNS = Map.of(
+            "version", "ALTER TABLE Campaigns ADD COLUMN version INT NOT NULL DEFAULT 0");
+    private static final Map<String, String> CAMPAIGN_INDEXES = new LinkedHashMap<>();
+    // Archived rows live in Campaigns_archive, so an index led by is_archive only costs writes on the hot table
+    private static final Map<String, String> OBSOLETE_CAMPAIGN_INDEXES = Map.of(
+            "idx_campaigns_status_start", "DROP INDEX idx_campaigns_status_start ON Campaigns");
+    private static final String INDEX_EXISTS = "SELECT COUNT(*) FROM information_schema.STATISTICS "
+            + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'Campaigns' AND INDEX_NAME = :name";
+
+    static {
+        CAMPAIGN_INDEXES.put("idx_campaigns_name", "CREATE INDEX idx_campaigns_name ON Campaigns (campaign_name)");
+        CAMPAIGN_INDEXES.put("idx_campaigns_start_date", "CREATE INDEX idx_campaigns_start_date ON Campaigns (start_date)");
+        CAMPAIGN_INDEXES.put("idx_campaigns_end_date", "CREATE INDEX idx_campaigns_end_date ON Campaigns (end_date)");
+    }
+
+    private final DatabaseClient databaseClient;
+    private final boolean mysql;
+
+    @Autowired
+    public SchemaMigration(DatabaseClient databaseClient, R2dbcProperties properties) {
+        this.databaseClient = databaseClient;
+        this.mysql = "mysql".equals(ConnectionFactoryOptions.parse(properties.getUrl()).getValue(ConnectionFactoryOptions.DRIVER));
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!mysql) {
+            return;
+        }
+        migrate().subscribe(null,
+                e -> logger.error("Schema migration failed, the schema is left as it was", e),
+                () -> logger.info("Schema migration finished"));
+    }
+
+    public Mono<Void> migrate() {
+        return Flux.fromIterable(schemaStatements())
+                .concatMap(statement -> databaseClient.sql(statement).then())
+                .thenMany(Flux.fromIterable(CAMPAIGN_COLUMNS.entrySet())
+                        .concatMap(column -> applyIf(false, "SELECT COUNT(*) FROM information_schema.COLUMNS "
+                                + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'Campaigns' AND COLUMN_NAME = :name", column.getKey(), column.getValue())))
+                .thenMany(Flux.fromIterable(CAMPAIGN_INDEXES.entrySet())
+                        .concatMap(index -> applyIf(false, INDEX_EXISTS, index.getKey(), index.getValue())))
+                .thenMany(Flux.fromIterable(OBSOLETE_CAMPAIGN_INDEXES.entrySet())
+                        .concatMap(index -> applyIf(true, INDEX_EXISTS, index.getKey(), index.getValue())))
+                .then();
+    }
+
+    // Runs the DDL when the object's presence matches 'present', so every step is a no-op once applied
+    private Mono<Void> applyIf(boolean present, String existsQuery, String name, String ddl) {
+        return databaseClient.sql(existsQuery)
+                .bind("name", name)
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .flatMap(count -> {
+                    if ((count > 0) != present) {
+                        return Mono.empty();
+                    }
+                    logger.info("Schema migration: {}", ddl);
+                    return databaseClient.sql(ddl).then();
+                });
+    }
+
+    // CREATE TABLE IF NOT EXISTS statements, creating whatever tables this deployment does not have yet
+    private static List<String> schemaStatements() {
+        try {
+            String schema = new ClassPathResource("schema.sql").getContentAsString(StandardCharsets.UTF_8);
+            return Arrays.stream(schema.split(";")).filter(statement -> !statement.isBlank()).toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read schema.sql", e);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.bridgelabz.campaign.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.Connection;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ConnectionPool} that records how long callers wait to acquire a connection.
+ * The pool's acquired/idle/pending gauges are bound by Spring Boot's pool metrics.
+ */
+public class TimedConnectionPool extends ConnectionPool {
+
+    private final Timer acquireTimer;
+
+    public TimedConnectionPool(ConnectionPoolConfiguration configuration, MeterRegistry meterRegistry) {
+        super(configuration);
+        this.acquireTimer = Timer.builder("r2dbc.pool.acquire")
+                .description("Time spent waiting to acquire a pooled connection")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Connection> create() {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return super.create().doOnSuccess(connection -> acquireTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    // Acquires and releases connections at the same time so the pool opens new ones,
+    // without counting the acquisitions as request wait time
+    public Mono<Long> prewarm(int connections) {
+        return Flux.range(0, connections)
+                .flatMap(i -> super.create())
+                .collectList()
+                .flatMap(acquired -> Flux.fromIterable(acquired)
+                        .flatMap(Connection::close)
+                        .then(Mono.just((long) acquired.size())));
+    }
+}
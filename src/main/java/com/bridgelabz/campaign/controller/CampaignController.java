@@ -1,12 +1,22 @@
 package com.bridgelabz.campaign.controller;
 
+import com.bridgelabz.campaign.model.Campaign;
+import com.bridgelabz.campaign.model.CampaignBatchUpdate;
+import com.bridgelabz.campaign.model.CampaignChangeEvent;
 import com.bridgelabz.campaign.model.CampaignDto;
+import com.bridgelabz.campaign.model.CampaignSearchCriteria;
 import com.bridgelabz.campaign.service.CampaignServiceImpl;
 import com.bridgelabz.campaign.utility.ResponseMessage;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Instant;
+
 @RestController
 @RequestMapping("campaign")
 public class CampaignController {
@@ -21,14 +31,63 @@ public class CampaignController {
         return campaignService.createCampaign(campaignDto);
     }
 
+    // Accepts a JSON array or an NDJSON stream, items are written in bounded multi-row chunks
+    @PostMapping(value = "/create/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Mono<ResponseEntity<ResponseMessage>> createCampaigns(@RequestBody Flux<CampaignDto> campaignDtos) {
+        return campaignService.createCampaigns(campaignDtos);
+    }
+
+    @PutMapping(value = "/update/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Mono<ResponseEntity<ResponseMessage>> updateCampaigns(@RequestBody Flux<CampaignBatchUpdate> updates) {
+        return campaignService.updateCampaigns(updates);
+    }
+
+    // fields=campaignId,campaignName,startDate,endDate,active selects only those columns
     @GetMapping("/get")
-    public Mono<ResponseEntity<ResponseMessage>> getAllCampaigns() {
-        return campaignService.getAllCampaigns();
+    public Mono<ResponseEntity<ResponseMessage>> getAllCampaigns(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                                 @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                                                 @RequestParam(required = false) String fields) {
+        return varyByAccept(campaignService.getAllCampaigns(ifNoneMatch, accept, fields));
+    }
+
+    @GetMapping(value = "/get", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<Campaign> streamAllCampaigns() {
+        return campaignService.streamAllCampaigns();
+    }
+
+    @GetMapping("/get/page")
+    public Mono<ResponseEntity<ResponseMessage>> getCampaignPage(@RequestParam(defaultValue = "0") int afterId, @RequestParam(defaultValue = "100") int limit,
+                                                                 @RequestParam(required = false) String fields) {
+        return campaignService.getCampaignPage(afterId, limit, fields);
+    }
+
+    // e.g. /search?namePrefix=Java&active=true&archived=false&startFrom=2024-01-01T00:00:00Z&sort=-startDate&limit=20
+    @GetMapping("/search")
+    public Mono<ResponseEntity<ResponseMessage>> searchCampaigns(@ModelAttribute CampaignSearchCriteria criteria) {
+        return campaignService.search(criteria);
+    }
+
+    // Answered from the in-memory interval index, at defaults to now
+    @GetMapping("/live")
+    public Mono<ResponseEntity<ResponseMessage>> getLiveCampaigns(@RequestParam(required = false) Instant at) {
+        return campaignService.getLiveCampaigns(at);
+    }
+
+    @GetMapping("/starting")
+    public Mono<ResponseEntity<ResponseMessage>> getCampaignsStartingBetween(@RequestParam Instant from, @RequestParam Instant to) {
+        return campaignService.getCampaignsStartingBetween(from, to);
+    }
+
+    @GetMapping("/ending")
+    public Mono<ResponseEntity<ResponseMessage>> getCampaignsEndingBetween(@RequestParam Instant from, @RequestParam Instant to) {
+        return campaignService.getCampaignsEndingBetween(from, to);
     }
 
     @GetMapping("/get/{campaignId}")
-    Mono<ResponseEntity<ResponseMessage>>getCampaignById(@PathVariable int campaignId) {
-        return campaignService.getCampaign(campaignId);
+    Mono<ResponseEntity<ResponseMessage>>getCampaignById(@PathVariable int campaignId, @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                           @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                                           @RequestParam(required = false) String fields) {
+        return varyByAccept(campaignService.getCampaign(campaignId, ifNoneMatch, accept, fields));
     }
 
     @PutMapping("/update/{campaignId}")
@@ -46,4 +105,50 @@ public class CampaignController {
         return campaignService.deleteByName(campaignName);
     }
 
+    // Moves the campaign out of the hot table, it is then only visible through /archive
+    @PutMapping("/archive/{campaignId}")
+    public Mono<ResponseEntity<ResponseMessage>> archiveCampaign(@PathVariable int campaignId) {
+        return campaignService.archive(campaignId);
+    }
+
+    @PutMapping("/restore/{campaignId}")
+    public Mono<ResponseEntity<ResponseMessage>> restoreCampaign(@PathVariable int campaignId) {
+        return campaignService.restore(campaignId);
+    }
+
+    @GetMapping("/archive")
+    public Mono<ResponseEntity<ResponseMessage>> getArchivedPage(@RequestParam(defaultValue = "0") int afterId, @RequestParam(defaultValue = "100") int limit) {
+        return campaignService.getArchivedPage(afterId, limit);
+    }
+
+    @GetMapping("/archive/{campaignId}")
+    public Mono<ResponseEntity<ResponseMessage>> getArchivedCampaign(@PathVariable int campaignId) {
+        return campaignService.getArchivedCampaign(campaignId);
+    }
+
+    // Resume with the Last-Event-ID header (sent by EventSource on reconnect) or ?after=<event id>
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<CampaignChangeEvent>> streamChanges(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                                                                    @RequestParam(required = false) String after) {
+        return campaignService.streamChanges(lastEventId != null ? lastEventId : after);
+    }
+
+    @GetMapping("/cache/stats")
+    public Mono<ResponseEntity<ResponseMessage>> getCacheStats() {
+        return campaignService.getCacheStats();
+    }
+
+    // Dashboard counters kept in memory, reads never query the table
+    @GetMapping("/statistics")
+    public Mono<ResponseEntity<ResponseMessage>> getStatistics() {
+        return campaignService.getStatistics();
+    }
+
+    // JSON, CBOR and Smile bodies share the URL, so caches have to key on Accept as well as on the ETag
+    private static Mono<ResponseEntity<ResponseMessage>> varyByAccept(Mono<ResponseEntity<ResponseMessage>> response) {
+        return response.map(entity -> ResponseEntity.status(entity.getStatusCode())
+                .headers(entity.getHeaders())
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(entity.getBody()));
+    }
 }
@@ -0,0 +1,18 @@
+package com.bridgelabz.campaign.model;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class BatchItemResult {
+
+    // Position of the item in the request body
+    private long index;
+    private Integer campaignId;
+    private int code;
+    private String message;
+
+}
@@ -1,12 +1,13 @@
 package com.bridgelabz.campaign.model;
 
-import jakarta.persistence.*;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.Table;
 
 import java.time.Instant;
@@ -18,45 +19,50 @@ import java.time.Instant;
 @Table(name = "Campaigns")
 public class Campaign {
     @Id
-    @Column(name = "campaign_id")
+    @Column("campaign_id")
     private int campaignId;
 
     @NotNull(message = "Campaign name is required")
     @NotEmpty
-    @Column(name = "campaign_name", nullable = false)
+    @Column("campaign_name")
     private String campaignName;
 
-    @Column(name = "short_name")
+    @Column("short_name")
     private String shortName;
 
-    @Column(name = "campaign_description", length = 1000)
+    @Column("campaign_description")
     private String campaignDescription;
 
     @NotNull(message = "Start date is required")
-    @Column(name = "start_date",nullable = false)
+    @Column("start_date")
     private Instant startDate;
 
     @NotNull(message = "End date is required")
-    @Column(name = "end_date",nullable = false)
+    @Column("end_date")
     private Instant endDate;
 
     @NotNull(message = "Max attempts is required")
     @Min(value = 1, message = "Max attempts must be greater than or equal to 1")
-    @Column(name = "max_attempts",nullable = false)
+    @Column("max_attempts")
     private Integer maxAttempts;
 
     @NotNull(message = "Pass percentage is required")
     @Min(value = 0, message = "Pass percentage cannot be negative")
     @Max(value = 100, message = "Pass percentage cannot be greater than 100")
-    @Column(name = "pass_percentage",nullable = false)
+    @Column("pass_percentage")
     private Integer passPercentage;
 
     @NotNull
-    @Column(name = "is_active")
+    @Column("is_active")
     private boolean isActive;
 
     @NotNull
-    @Column(name = "is_archive")
+    @Column("is_archive")
     private boolean isArchive;
 
+    // Optimistic concurrency guard, bumped by every update
+    @Version
+    @Column("version")
+    private Integer version;
+
 }
\ No newline at end of file
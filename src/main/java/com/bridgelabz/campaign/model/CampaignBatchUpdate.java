@@ -0,0 +1,15 @@
+package com.bridgelabz.campaign.model;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class CampaignBatchUpdate {
+
+    private int campaignId;
+    private CampaignDto campaign;
+
+}
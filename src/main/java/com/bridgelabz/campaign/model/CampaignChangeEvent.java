@@ -0,0 +1,35 @@
+package com.bridgelabz.campaign.model;
+
+import lombok.*;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class CampaignChangeEvent {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED, ACTIVATED, DEACTIVATED,
+        // Moved to or back from the archive tier
+        ARCHIVED, RESTORED,
+        // Activation run whose individual rows are not known, data carries the counts
+        ACTIVATION_RUN,
+        // Events were missed (position no longer retained, from another instance or run, or the
+        // subscriber fell behind), reload the full list before applying later events
+        RESYNC
+    }
+
+    // Event id for Last-Event-ID: the feed's epoch and the sequence, so positions from another run never match
+    private String id;
+    private long sequence;
+    private Type type;
+    private Integer campaignId;
+    private String campaignName;
+    // The campaign for CREATED/UPDATED/ACTIVATED/DEACTIVATED/RESTORED, counts for ACTIVATION_RUN, null otherwise
+    private Object data;
+    private Instant timestamp;
+
+}
@@ -16,6 +16,8 @@ public class CampaignDto {
     private Integer passPercentage;
     private boolean isActive;
     private boolean isArchive;
+    // Expected current version for a conditional update, optional
+    private Integer version;
 
     public CampaignDto(String campaignName, String shortName, String campaignDescription, Instant startDate, Instant endDate, Integer maxAttempts, Integer passPercentage, boolean isActive, boolean isArchive) {
         this.campaignName = campaignName;
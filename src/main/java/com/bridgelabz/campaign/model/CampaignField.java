@@ -0,0 +1,110 @@
+package com.bridgelabz.campaign.model;
+
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Campaign properties that can be requested through {@code fields=}, with the column each one is read from.
+ * Property names are the ones {@link Campaign} is serialized with, so a sparse response has the same keys
+ * as a full one.
+ */
+public enum CampaignField {
+
+    CAMPAIGN_ID("campaignId", "campaign_id", Integer.class, Campaign::getCampaignId),
+    CAMPAIGN_NAME("campaignName", "campaign_name", String.class, Campaign::getCampaignName),
+    SHORT_NAME("shortName", "short_name", String.class, Campaign::getShortName),
+    CAMPAIGN_DESCRIPTION("campaignDescription", "campaign_description", String.class, Campaign::getCampaignDescription),
+    START_DATE("startDate", "start_date", Instant.class, Campaign::getStartDate),
+    END_DATE("endDate", "end_date", Instant.class, Campaign::getEndDate),
+    MAX_ATTEMPTS("maxAttempts", "max_attempts", Integer.class, Campaign::getMaxAttempts),
+    PASS_PERCENTAGE("passPercentage", "pass_percentage", Integer.class, Campaign::getPassPercentage),
+    ACTIVE("active", "is_active", Boolean.class, Campaign::isActive),
+    ARCHIVE("archive", "is_archive", Boolean.class, Campaign::isArchive),
+    VERSION("version", "version", Integer.class, Campaign::getVersion);
+
+    private final String property;
+    private final String column;
+    private final Class<?> type;
+    private final Function<Campaign, Object> accessor;
+
+    CampaignField(String property, String column, Class<?> type, Function<Campaign, Object> accessor) {
+        this.property = property;
+        this.column = column;
+        this.type = type;
+        this.accessor = accessor;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Parses a comma-separated {@code fields=} value. campaignId is always included, it identifies the row
+     * and drives keyset paging. Returns null when a name is unknown.
+     */
+    public static Set<CampaignField> parse(String fields) {
+        Set<CampaignField> parsed = EnumSet.of(CAMPAIGN_ID);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            CampaignField field = byName(trimmed);
+            if (field == null) {
+                return null;
+            }
+            parsed.add(field);
+        }
+        return parsed;
+    }
+
+    private static CampaignField byName(String name) {
+        // isActive/isArchive are the entity's field names and are accepted as well
+        if (name.equals("isActive")) {
+            return ACTIVE;
+        }
+        if (name.equals("isArchive")) {
+            return ARCHIVE;
+        }
+        for (CampaignField field : values()) {
+            if (field.property.equals(name)) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    public static String columns(Set<CampaignField> fields) {
+        return fields.stream().map(CampaignField::getColumn).collect(Collectors.joining(", "));
+    }
+
+    // Short stable token for a field set, used to keep ETags of different projections apart
+    public static String key(Set<CampaignField> fields) {
+        int mask = 0;
+        for (CampaignField field : fields) {
+            mask |= 1 << field.ordinal();
+        }
+        return Integer.toString(mask, 36);
+    }
+
+    public static Map<String, Object> project(Campaign campaign, Set<CampaignField> fields) {
+        Map<String, Object> projected = new LinkedHashMap<>();
+        for (CampaignField field : fields) {
+            projected.put(field.property, field.accessor.apply(campaign));
+        }
+        return projected;
+    }
+}
@@ -0,0 +1,19 @@
+package com.bridgelabz.campaign.model;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class CampaignPage {
+
+    // Campaign entities, or property maps when the page was requested with fields=
+    private List<?> campaigns;
+    // campaignId to pass as afterId for the next page, null when this is the last page
+    private Integer nextAfterId;
+
+}
@@ -0,0 +1,34 @@
+package com.bridgelabz.campaign.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Set;
+
+@Data
+@NoArgsConstructor
+public class CampaignSearchCriteria {
+
+    public static final Set<String> SORTABLE_PROPERTIES = Set.of("campaignId", "campaignName", "startDate", "endDate");
+
+    private String namePrefix;
+    private Boolean active;
+    private Boolean archived;
+    // Start date window [startFrom, startTo) and end date window [endFrom, endTo)
+    private Instant startFrom;
+    private Instant startTo;
+    private Instant endFrom;
+    private Instant endTo;
+    // Sort property, prefixed with '-' for descending order
+    private String sort = "campaignId";
+    private int limit = 50;
+
+    public String getSortBy() {
+        return isDescending() ? sort.substring(1) : sort;
+    }
+
+    public boolean isDescending() {
+        return sort.startsWith("-");
+    }
+}
@@ -0,0 +1,141 @@
+package com.bridgelabz.campaign.repository;
+
+import com.bridgelabz.campaign.model.Campaign;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * Cold tier for archived campaigns. Archiving moves the row from Campaigns to Campaigns_archive
+ * inside one transaction, so the hot table, and everything that scans it, only holds live campaigns.
+ */
+@Repository
+public class CampaignArchiveRepository {
+
+    private static final String ARCHIVE_TABLE = "Campaigns_archive";
+    private static final String COPY_COLUMNS = "campaign_id, campaign_name, short_name, campaign_description, start_date, end_date, "
+            + "max_attempts, pass_percentage, is_active, is_archive, version";
+    private static final String COPY_TO_ARCHIVE = "INSERT INTO Campaigns_archive (" + COPY_COLUMNS + ", archived_at) "
+            + "SELECT campaign_id, campaign_name, short_name, campaign_description, start_date, end_date, "
+            + "max_attempts, pass_percentage, FALSE, TRUE, version, CURRENT_TIMESTAMP FROM Campaigns ";
+
+    private final DatabaseClient databaseClient;
+    private final R2dbcEntityTemplate entityTemplate;
+    private final TransactionalOperator transactionalOperator;
+
+    @Autowired
+    public CampaignArchiveRepository(DatabaseClient databaseClient, R2dbcEntityTemplate entityTemplate, ReactiveTransactionManager transactionManager) {
+        this.databaseClient = databaseClient;
+        this.entityTemplate = entityTemplate;
+        this.transactionalOperator = TransactionalOperator.create(transactionManager);
+    }
+
+    // True when the campaign was moved, false when there is no live campaign with that id
+    public Mono<Boolean> archive(int campaignId) {
+        // The row lock keeps a concurrent update from landing between the copy and the delete
+        Mono<Boolean> move = databaseClient.sql("SELECT campaign_id FROM Campaigns WHERE campaign_id = :campaignId FOR UPDATE")
+                .bind("campaignId", campaignId)
+                .fetch()
+                .all()
+                .hasElements()
+                .flatMap(exists -> !exists ? Mono.just(false) : databaseClient.sql(COPY_TO_ARCHIVE + "WHERE campaign_id = :campaignId")
+                        .bind("campaignId", campaignId)
+                        .fetch()
+                        .rowsUpdated()
+                        .then(databaseClient.sql("DELETE FROM Campaigns WHERE campaign_id = :campaignId")
+                                .bind("campaignId", campaignId)
+                                .fetch()
+                                .rowsUpdated())
+                        .map(deleted -> deleted > 0));
+        return transactionalOperator.transactional(move);
+    }
+
+    // Moves every live row still flagged is_archive, returning the moved ids
+    public Mono<List<Integer>> archiveFlagged() {
+        Mono<List<Integer>> move = databaseClient.sql("SELECT campaign_id FROM Campaigns WHERE is_archive = TRUE FOR UPDATE")
+                .map(row -> row.get("campaign_id", Integer.class))
+                .all()
+                .collectList()
+                .flatMap(campaignIds -> campaignIds.isEmpty() ? Mono.just(campaignIds) : databaseClient.sql(COPY_TO_ARCHIVE + "WHERE campaign_id IN (:campaignIds)")
+                        .bind("campaignIds", campaignIds)
+                        .fetch()
+                        .rowsUpdated()
+                        .then(databaseClient.sql("DELETE FROM Campaigns WHERE campaign_id IN (:campaignIds)")
+                                .bind("campaignIds", campaignIds)
+                                .fetch()
+                                .rowsUpdated())
+                        .thenReturn(campaignIds));
+        return transactionalOperator.transactional(move);
+    }
+
+    // Moves the campaign back to the hot table with the activity status computed by the caller
+    public Mono<Campaign> restore(int campaignId, UnaryOperator<Campaign> prepare) {
+        Mono<Campaign> move = findById(campaignId)
+                .flatMap(campaign -> databaseClient.sql("DELETE FROM Campaigns_archive WHERE campaign_id = :campaignId")
+                        .bind("campaignId", campaignId)
+                        .fetch()
+                        .rowsUpdated()
+                        // A concurrent restore already took it
+                        .filter(deleted -> deleted > 0)
+                        .map(deleted -> prepare.apply(campaign)))
+                .flatMap(campaign -> bindOptionalText(databaseClient.sql("INSERT INTO Campaigns (" + COPY_COLUMNS + ") VALUES (:campaignId, :campaignName, "
+                                        + ":shortName, :campaignDescription, :startDate, :endDate, :maxAttempts, :passPercentage, :isActive, FALSE, :version)")
+                                .bind("campaignId", campaign.getCampaignId())
+                                .bind("campaignName", campaign.getCampaignName())
+                                .bind("startDate", campaign.getStartDate())
+                                .bind("endDate", campaign.getEndDate())
+                                .bind("maxAttempts", campaign.getMaxAttempts())
+                                .bind("passPercentage", campaign.getPassPercentage())
+                                .bind("isActive", campaign.isActive())
+                                .bind("version", campaign.getVersion() == null ? 0 : campaign.getVersion()),
+                                campaign)
+                        .fetch()
+                        .rowsUpdated()
+                        .map(inserted -> {
+                            campaign.setArchive(false);
+                            return campaign;
+                        }));
+        return transactionalOperator.transactional(move);
+    }
+
+    public Mono<Campaign> findById(int campaignId) {
+        return entityTemplate.select(Campaign.class)
+                .from(ARCHIVE_TABLE)
+                .matching(Query.query(Criteria.where("campaignId").is(campaignId)))
+                .one();
+    }
+
+    // Keyset page over the archive, same contract as CampaignRepository.findPageAfter
+    public Flux<Campaign> findPageAfter(int afterId, int limit) {
+        return entityTemplate.select(Campaign.class)
+                .from(ARCHIVE_TABLE)
+                .matching(Query.query(Criteria.where("campaignId").greaterThan(afterId))
+                        .sort(Sort.by("campaignId"))
+                        .limit(limit))
+                .all();
+    }
+
+    public Mono<Long> count() {
+        return entityTemplate.select(Campaign.class)
+                .from(ARCHIVE_TABLE)
+                .count();
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindOptionalText(DatabaseClient.GenericExecuteSpec spec, Campaign campaign) {
+        spec = campaign.getShortName() == null ? spec.bindNull("shortName", String.class) : spec.bind("shortName", campaign.getShortName());
+        return campaign.getCampaignDescription() == null
+                ? spec.bindNull("campaignDescription", String.class)
+                : spec.bind("campaignDescription", campaign.getCampaignDescription());
+    }
+}
@@ -1,18 +1,43 @@
 package com.bridgelabz.campaign.repository;
 
 import com.bridgelabz.campaign.model.Campaign;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Instant;
+
 @Repository
-public interface CampaignRepository extends R2dbcRepository<Campaign, Integer> {
+public interface CampaignRepository extends R2dbcRepository<Campaign, Integer>, CampaignRepositoryCustom {
 
     Mono<Campaign> findByCampaignId(int campaignId);
     Mono<Boolean> existsByCampaignId(int campaignId);
-    Mono<Object> deleteByCampaignId(int campaignId);
-    Flux<Object> deleteByCampaignName(String campaignName);
+    // Deletes return the affected-row count so 404 is decided without a prior exists query
+    @Modifying
+    @Query("DELETE FROM Campaigns WHERE campaign_id = :campaignId")
+    Mono<Integer> deleteByCampaignId(int campaignId);
+    @Modifying
+    @Query("DELETE FROM Campaigns WHERE campaign_name = :campaignName")
+    Mono<Integer> deleteByCampaignName(String campaignName);
     Mono<Boolean> existsByCampaignName(String campaignName);
 
+    // Keyset page: seeks on the primary key instead of OFFSET so every page costs the same
+    @Query("SELECT * FROM Campaigns WHERE campaign_id > :afterId ORDER BY campaign_id LIMIT :limit")
+    Flux<Campaign> findPageAfter(int afterId, int limit);
+
+    // Activation only touches rows whose computed status actually flips
+    @Modifying
+    @Query("UPDATE Campaigns SET is_active = TRUE WHERE is_active = FALSE AND start_date < :now AND end_date > :now")
+    Mono<Integer> activateStarted(Instant now);
+
+    @Modifying
+    @Query("UPDATE Campaigns SET is_active = FALSE WHERE is_active = TRUE AND (start_date >= :now OR end_date <= :now)")
+    Mono<Integer> deactivateOutsideWindow(Instant now);
+
+    Mono<Campaign> findFirstByStartDateAfterOrderByStartDateAsc(Instant instant);
+    Mono<Campaign> findFirstByEndDateAfterOrderByEndDateAsc(Instant instant);
+
 }
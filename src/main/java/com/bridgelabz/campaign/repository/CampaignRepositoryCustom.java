@@ -0,0 +1,29 @@
+package com.bridgelabz.campaign.repository;
+
+import com.bridgelabz.campaign.model.Campaign;
+import com.bridgelabz.campaign.model.CampaignField;
+import com.bridgelabz.campaign.model.CampaignSearchCriteria;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public interface CampaignRepositoryCustom {
+
+    // Filtered, sorted and limited search over the secondary indexes
+    Flux<Campaign> search(CampaignSearchCriteria criteria);
+
+    // Projected reads: only the requested columns are selected, rows come back as property maps
+    Flux<Map<String, Object>> findAllProjected(Set<CampaignField> fields);
+    Flux<Map<String, Object>> findPageAfterProjected(Set<CampaignField> fields, int afterId, int limit);
+
+    // Inserts all campaigns with one multi-row INSERT and returns them with their generated ids
+    Mono<List<Campaign>> insertAll(List<Campaign> campaigns);
+    // Single conditional UPDATE, guarded by the campaign version when one is given
+    Mono<UpdateOutcome> updateCampaign(Campaign campaign);
+    // Updates all campaigns with one multi-row UPDATE guarded per row by version, keyed by campaign id
+    Mono<Map<Integer, UpdateOutcome>> updateAll(List<Campaign> campaigns);
+
+}
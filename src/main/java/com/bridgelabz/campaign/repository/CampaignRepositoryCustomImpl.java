@@ -0,0 +1,326 @@
+package com.bridgelabz.campaign.repository;
+
+import com.bridgelabz.campaign.model.Campaign;
+import com.bridgelabz.campaign.model.CampaignField;
+import com.bridgelabz.campaign.model.CampaignSearchCriteria;
+import io.r2dbc.spi.Readable;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.r2dbc.BadSqlGrammarException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class CampaignRepositoryCustomImpl implements CampaignRepositoryCustom {
+
+    private static final String[] COLUMNS = {"campaign_name", "short_name", "campaign_description", "start_date", "end_date",
+            "max_attempts", "pass_percentage", "is_active", "is_archive"};
+
+    private static final String ARCHIVE_TABLE = "Campaigns_archive";
+
+    private final DatabaseClient databaseClient;
+    private final R2dbcEntityTemplate entityTemplate;
+    private final ConversionService conversionService;
+    private final TransactionalOperator transactionalOperator;
+    // Id step of a multi-row INSERT, 0 when the server does not hand out one consecutive block
+    private final Mono<Long> autoIncrementStep;
+
+    public CampaignRepositoryCustomImpl(DatabaseClient databaseClient, R2dbcEntityTemplate entityTemplate, ReactiveTransactionManager transactionManager) {
+        this.databaseClient = databaseClient;
+        this.entityTemplate = entityTemplate;
+        this.conversionService = entityTemplate.getConverter().getConversionService();
+        this.transactionalOperator = TransactionalOperator.create(transactionManager);
+        // Server settings do not change at runtime; a failed lookup is retried on the next batch
+        this.autoIncrementStep = readAutoIncrementStep().cache(step -> Duration.ofMillis(Long.MAX_VALUE), e -> Duration.ZERO, () -> Duration.ZERO);
+    }
+
+    @Override
+    public Flux<Campaign> search(CampaignSearchCriteria searchCriteria) {
+        // Each filter lines up with a secondary index in schema.sql so the query stays a range scan.
+        // Archived campaigns only live in the archive table, the archived filter picks the table rather than a column
+        Criteria criteria = Criteria.empty();
+        if (searchCriteria.getNamePrefix() != null && !searchCriteria.getNamePrefix().isEmpty()) {
+            criteria = criteria.and("campaignName").like(escapeLike(searchCriteria.getNamePrefix()) + "%");
+        }
+        if (searchCriteria.getActive() != null) {
+            criteria = criteria.and("isActive").is(searchCriteria.getActive());
+        }
+        if (searchCriteria.getStartFrom() != null) {
+            criteria = criteria.and("startDate").greaterThanOrEquals(searchCriteria.getStartFrom());
+        }
+        if (searchCriteria.getStartTo() != null) {
+            criteria = criteria.and("startDate").lessThan(searchCriteria.getStartTo());
+        }
+        if (searchCriteria.getEndFrom() != null) {
+            criteria = criteria.and("endDate").greaterThanOrEquals(searchCriteria.getEndFrom());
+        }
+        if (searchCriteria.getEndTo() != null) {
+            criteria = criteria.and("endDate").lessThan(searchCriteria.getEndTo());
+        }
+        Sort.Direction direction = searchCriteria.isDescending() ? Sort.Direction.DESC : Sort.Direction.ASC;
+        // campaignId breaks ties so the order is stable between calls
+        Sort sort = Sort.by(direction, searchCriteria.getSortBy()).and(Sort.by(direction, "campaignId"));
+        Query query = Query.query(criteria).sort(sort).limit(searchCriteria.getLimit());
+        String table = Boolean.TRUE.equals(searchCriteria.getArchived()) ? ARCHIVE_TABLE : "Campaigns";
+        return entityTemplate.select(Campaign.class).from(table).matching(query).all();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    @Override
+    public Flux<Map<String, Object>> findAllProjected(Set<CampaignField> fields) {
+        return databaseClient.sql("SELECT " + CampaignField.columns(fields) + " FROM Campaigns")
+                .map(row -> readProjected(row, fields))
+                .all();
+    }
+
+    @Override
+    public Flux<Map<String, Object>> findPageAfterProjected(Set<CampaignField> fields, int afterId, int limit) {
+        // Same keyset seek as findPageAfter, the text only varies with the field set so it stays prepared
+        return databaseClient.sql("SELECT " + CampaignField.columns(fields) + " FROM Campaigns WHERE campaign_id > :afterId ORDER BY campaign_id LIMIT :limit")
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map(row -> readProjected(row, fields))
+                .all();
+    }
+
+    private Map<String, Object> readProjected(Readable row, Set<CampaignField> fields) {
+        Map<String, Object> projected = new LinkedHashMap<>();
+        for (CampaignField field : fields) {
+            projected.put(field.getProperty(), readColumn(row, field));
+        }
+        return projected;
+    }
+
+    // Drivers decode TIMESTAMP to LocalDateTime and not all of them to Instant; temporal columns go through
+    // the same conversions an entity read applies, so a projected date equals the entity's
+    private Object readColumn(Readable row, CampaignField field) {
+        if (!Temporal.class.isAssignableFrom(field.getType())) {
+            return row.get(field.getColumn(), field.getType());
+        }
+        Object value = row.get(field.getColumn());
+        return value == null ? null : conversionService.convert(value, field.getType());
+    }
+
+    @Override
+    public Mono<List<Campaign>> insertAll(List<Campaign> campaigns) {
+        if (campaigns.isEmpty()) {
+            return Mono.just(campaigns);
+        }
+        return autoIncrementStep.flatMap(step -> step > 0 ? insertMultiRow(campaigns, step) : insertRowByRow(campaigns));
+    }
+
+    private Mono<List<Campaign>> insertMultiRow(List<Campaign> campaigns, long step) {
+        return insertStatement(campaigns)
+                .map(row -> row.get(0, Long.class))
+                .all()
+                .collectList()
+                .map(ids -> {
+                    // MySQL reports only the first id of a multi-row INSERT, the rest follow from the block step
+                    for (int i = 0; i < campaigns.size(); i++) {
+                        long id = ids.size() == campaigns.size() ? ids.get(i) : ids.get(0) + i * step;
+                        campaigns.get(i).setCampaignId((int) id);
+                        campaigns.get(i).setVersion(0);
+                    }
+                    return campaigns;
+                });
+    }
+
+    // Each row reads back its own generated id; one transaction keeps the batch all-or-nothing as before
+    private Mono<List<Campaign>> insertRowByRow(List<Campaign> campaigns) {
+        Mono<List<Campaign>> inserts = Flux.fromIterable(campaigns)
+                .concatMap(campaign -> insertStatement(List.of(campaign))
+                        .map(row -> row.get(0, Long.class))
+                        .one()
+                        .doOnNext(id -> {
+                            campaign.setCampaignId(id.intValue());
+                            campaign.setVersion(0);
+                        }))
+                .then(Mono.just(campaigns));
+        return transactionalOperator.transactional(inserts);
+    }
+
+    private DatabaseClient.GenericExecuteSpec insertStatement(List<Campaign> campaigns) {
+        StringBuilder sql = new StringBuilder("INSERT INTO Campaigns (").append(String.join(", ", COLUMNS)).append(") VALUES ");
+        for (int i = 0; i < campaigns.size(); i++) {
+            sql.append(i == 0 ? "(" : ", (");
+            for (int c = 0; c < COLUMNS.length; c++) {
+                sql.append(c == 0 ? "" : ", ").append(':').append(COLUMNS[c]).append(i);
+            }
+            sql.append(')');
+        }
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString())
+                .filter(statement -> statement.returnGeneratedValues("campaign_id"));
+        for (int i = 0; i < campaigns.size(); i++) {
+            spec = bindColumns(spec, campaigns.get(i), String.valueOf(i));
+        }
+        return spec;
+    }
+
+    // A VALUES list gets one consecutive block only in lock modes 0 and 1; mode 2 (interleaved,
+    // the MySQL 8 default and required by Galera) may hand other sessions ids in between
+    private Mono<Long> readAutoIncrementStep() {
+        return databaseClient.sql("SELECT @@auto_increment_increment, @@innodb_autoinc_lock_mode")
+                .map(row -> row.get(1, Long.class) == 2L ? 0L : row.get(0, Long.class))
+                .one()
+                // Not MySQL, no block guarantee to rely on
+                .onErrorReturn(BadSqlGrammarException.class, 0L);
+    }
+
+    @Override
+    public Mono<UpdateOutcome> updateCampaign(Campaign campaign) {
+        StringBuilder sql = new StringBuilder("UPDATE Campaigns SET ");
+        for (String column : COLUMNS) {
+            sql.append(column).append(" = :").append(column).append(", ");
+        }
+        // Bumping the version also guarantees a non-zero affected-row count for an existing row
+        sql.append("version = version + 1 WHERE campaign_id = :campaignId");
+        Integer expectedVersion = campaign.getVersion();
+        if (expectedVersion != null) {
+            sql.append(" AND version = :version");
+        }
+        DatabaseClient.GenericExecuteSpec spec = bindColumns(databaseClient.sql(sql.toString()), campaign, "")
+                .bind("campaignId", campaign.getCampaignId());
+        if (expectedVersion == null) {
+            // The UPDATE's row lock is held until commit, so the re-read returns the version this write produced
+            Mono<UpdateOutcome> unguarded = spec.fetch().rowsUpdated()
+                    .flatMap(updatedRows -> updatedRows == 0
+                            ? Mono.just(UpdateOutcome.NOT_FOUND)
+                            : selectVersions(List.of(campaign.getCampaignId())).map(versions -> {
+                                campaign.setVersion(versions.get(campaign.getCampaignId()));
+                                return UpdateOutcome.UPDATED;
+                            }));
+            return transactionalOperator.transactional(unguarded);
+        }
+        return spec.bind("version", expectedVersion).fetch().rowsUpdated()
+                .flatMap(updatedRows -> {
+                    if (updatedRows > 0) {
+                        campaign.setVersion(expectedVersion + 1);
+                        return Mono.just(UpdateOutcome.UPDATED);
+                    }
+                    // Only a failed guarded update needs the second round trip to tell 404 from 409
+                    return databaseClient.sql("SELECT COUNT(*) FROM Campaigns WHERE campaign_id = :campaignId")
+                            .bind("campaignId", campaign.getCampaignId())
+                            .map(row -> row.get(0, Long.class))
+                            .one()
+                            .map(count -> count > 0 ? UpdateOutcome.CONFLICT : UpdateOutcome.NOT_FOUND);
+                });
+    }
+
+    @Override
+    public Mono<Map<Integer, UpdateOutcome>> updateAll(List<Campaign> campaigns) {
+        if (campaigns.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        List<Integer> campaignIds = campaigns.stream().map(Campaign::getCampaignId).collect(Collectors.toList());
+        return selectVersions(campaignIds)
+                .flatMap(currentVersions -> {
+                    Map<Integer, UpdateOutcome> outcomes = new HashMap<>();
+                    List<Campaign> writable = new ArrayList<>();
+                    for (Campaign campaign : campaigns) {
+                        Integer currentVersion = currentVersions.get(campaign.getCampaignId());
+                        if (currentVersion == null) {
+                            outcomes.put(campaign.getCampaignId(), UpdateOutcome.NOT_FOUND);
+                        } else if (campaign.getVersion() != null && !campaign.getVersion().equals(currentVersion)) {
+                            outcomes.put(campaign.getCampaignId(), UpdateOutcome.CONFLICT);
+                        } else {
+                            // Unversioned items are guarded by the version just read, so racing writers still conflict
+                            campaign.setVersion(currentVersion);
+                            writable.add(campaign);
+                        }
+                    }
+                    if (writable.isEmpty()) {
+                        return Mono.just(outcomes);
+                    }
+                    return executeUpdate(writable)
+                            .flatMap(updatedRows -> {
+                                if (updatedRows == writable.size()) {
+                                    for (Campaign campaign : writable) {
+                                        campaign.setVersion(campaign.getVersion() + 1);
+                                        outcomes.put(campaign.getCampaignId(), UpdateOutcome.UPDATED);
+                                    }
+                                    return Mono.just(outcomes);
+                                }
+                                // A concurrent writer got in between, re-read versions to see which writes landed
+                                return selectVersions(campaignIds).map(versionsAfter -> {
+                                    for (Campaign campaign : writable) {
+                                        Integer versionAfter = versionsAfter.get(campaign.getCampaignId());
+                                        if (versionAfter == null) {
+                                            outcomes.put(campaign.getCampaignId(), UpdateOutcome.NOT_FOUND);
+                                        } else if (versionAfter == campaign.getVersion() + 1) {
+                                            campaign.setVersion(versionAfter);
+                                            outcomes.put(campaign.getCampaignId(), UpdateOutcome.UPDATED);
+                                        } else {
+                                            outcomes.put(campaign.getCampaignId(), UpdateOutcome.CONFLICT);
+                                        }
+                                    }
+                                    return outcomes;
+                                });
+                            });
+                });
+    }
+
+    private Mono<Map<Integer, Integer>> selectVersions(List<Integer> campaignIds) {
+        return databaseClient.sql("SELECT campaign_id, version FROM Campaigns WHERE campaign_id IN (:campaignIds)")
+                .bind("campaignIds", campaignIds)
+                .map(row -> Map.entry(row.get(0, Integer.class), row.get(1, Integer.class)))
+                .all()
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    private Mono<Long> executeUpdate(List<Campaign> campaigns) {
+        // SET col = CASE campaign_id WHEN :id THEN :value ... ELSE col END, the ELSE branch also types the parameters
+        StringBuilder sql = new StringBuilder("UPDATE Campaigns SET ");
+        for (String column : COLUMNS) {
+            sql.append(column).append(" = CASE campaign_id");
+            for (int i = 0; i < campaigns.size(); i++) {
+                sql.append(" WHEN :id").append(i).append(" THEN :").append(column).append(i);
+            }
+            sql.append(" ELSE ").append(column).append(" END, ");
+        }
+        sql.append("version = version + 1 WHERE ");
+        for (int i = 0; i < campaigns.size(); i++) {
+            sql.append(i == 0 ? "" : " OR ").append("(campaign_id = :id").append(i).append(" AND version = :version").append(i).append(')');
+        }
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        for (int i = 0; i < campaigns.size(); i++) {
+            Campaign campaign = campaigns.get(i);
+            spec = bindColumns(spec.bind("id" + i, campaign.getCampaignId()).bind("version" + i, campaign.getVersion()), campaign, String.valueOf(i));
+        }
+        return spec.fetch().rowsUpdated();
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindColumns(DatabaseClient.GenericExecuteSpec spec, Campaign campaign, String suffix) {
+        spec = bindNullable(spec, "campaign_name" + suffix, campaign.getCampaignName(), String.class);
+        spec = bindNullable(spec, "short_name" + suffix, campaign.getShortName(), String.class);
+        spec = bindNullable(spec, "campaign_description" + suffix, campaign.getCampaignDescription(), String.class);
+        spec = bindNullable(spec, "start_date" + suffix, campaign.getStartDate(), Instant.class);
+        spec = bindNullable(spec, "end_date" + suffix, campaign.getEndDate(), Instant.class);
+        spec = bindNullable(spec, "max_attempts" + suffix, campaign.getMaxAttempts(), Integer.class);
+        spec = bindNullable(spec, "pass_percentage" + suffix, campaign.getPassPercentage(), Integer.class);
+        return spec.bind("is_active" + suffix, campaign.isActive())
+                .bind("is_archive" + suffix, campaign.isArchive());
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec spec, String name, Object value, Class<?> type) {
+        return value == null ? spec.bindNull(name, type) : spec.bind(name, value);
+    }
+}
@@ -0,0 +1,55 @@
+package com.bridgelabz.campaign.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Time-bounded ownership rows in the Leases table. Expiry is computed from the database clock,
+ * so the instances sharing a lease never compare their own clocks with each other.
+ */
+@Repository
+public class LeaseRepository {
+
+    private final DatabaseClient databaseClient;
+
+    @Autowired
+    public LeaseRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    // Renews the lease for its owner or takes it over once expired; inserts it on first use
+    public Mono<Boolean> tryAcquire(String leaseName, String owner, long ttlSeconds) {
+        return databaseClient.sql("UPDATE Leases SET owner = :owner, expires_at = TIMESTAMPADD(SECOND, :ttl, CURRENT_TIMESTAMP) "
+                        + "WHERE lease_name = :leaseName AND (owner = :owner OR expires_at < CURRENT_TIMESTAMP)")
+                .bind("owner", owner)
+                .bind("ttl", ttlSeconds)
+                .bind("leaseName", leaseName)
+                .fetch()
+                .rowsUpdated()
+                .flatMap(updated -> updated > 0 ? Mono.just(true) : insert(leaseName, owner, ttlSeconds));
+    }
+
+    public Mono<Void> release(String leaseName, String owner) {
+        return databaseClient.sql("UPDATE Leases SET expires_at = TIMESTAMPADD(SECOND, -1, CURRENT_TIMESTAMP) WHERE lease_name = :leaseName AND owner = :owner")
+                .bind("leaseName", leaseName)
+                .bind("owner", owner)
+                .fetch()
+                .rowsUpdated()
+                .then();
+    }
+
+    private Mono<Boolean> insert(String leaseName, String owner, long ttlSeconds) {
+        return databaseClient.sql("INSERT INTO Leases (lease_name, owner, expires_at) VALUES (:leaseName, :owner, TIMESTAMPADD(SECOND, :ttl, CURRENT_TIMESTAMP))")
+                .bind("leaseName", leaseName)
+                .bind("owner", owner)
+                .bind("ttl", ttlSeconds)
+                .fetch()
+                .rowsUpdated()
+                .map(inserted -> inserted > 0)
+                // The row exists and is held by a live owner
+                .onErrorResume(DataIntegrityViolationException.class, e -> Mono.just(false));
+    }
+}
@@ -0,0 +1,8 @@
+package com.bridgelabz.campaign.repository;
+
+public enum UpdateOutcome {
+    UPDATED,
+    NOT_FOUND,
+    // The row exists but its version no longer matches the expected one
+    CONFLICT
+}
@@ -0,0 +1,114 @@
+package com.bridgelabz.campaign.service;
+
+import com.bridgelabz.campaign.repository.LeaseRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Cluster-wide lease deciding which instance writes campaign activation.
+ * <p>
+ * Every instance heartbeats the lease; the holder renews it, the others take it over once it
+ * has expired, so a dead leader is replaced within one TTL plus one heartbeat. Leadership is
+ * given up locally one heartbeat before the TTL runs out, so two instances never both believe
+ * they hold it even when renewals stall.
+ */
+@Component
+public class ActivationLease {
+
+    private static final Logger logger = LogManager.getLogger(ActivationLease.class);
+    static final String LEASE_NAME = "campaign-activation";
+
+    private final LeaseRepository leaseRepository;
+    private final String owner;
+    private final Duration ttl;
+    private final Duration heartbeat;
+    private volatile long leaderUntilNanos;
+    private volatile boolean leader;
+    private volatile Runnable onGranted = () -> { };
+
+    @Autowired
+    public ActivationLease(LeaseRepository leaseRepository, MeterRegistry meterRegistry,
+                           @Value("${campaign.instance-id:}") String instanceId,
+                           @Value("${campaign.lease.ttl:PT30S}") Duration ttl,
+                           @Value("${campaign.lease.heartbeat:PT10S}") Duration heartbeat) {
+        this.leaseRepository = leaseRepository;
+        this.owner = instanceId.isBlank() ? defaultInstanceId() : instanceId;
+        this.ttl = ttl;
+        this.heartbeat = heartbeat;
+        Gauge.builder("campaign.activation.leader", this, lease -> lease.isLeader() ? 1 : 0)
+                .description("1 while this instance holds the activation lease")
+                .register(meterRegistry);
+    }
+
+    public boolean isLeader() {
+        return leader && leaderUntilNanos - System.nanoTime() > 0;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    // Called whenever this instance becomes the leader, so it can catch up on missed transitions
+    public void onGranted(Runnable callback) {
+        this.onGranted = callback;
+    }
+
+    @Scheduled(fixedRateString = "${campaign.lease.heartbeat:PT10S}")
+    public void heartbeat() {
+        long startNanos = System.nanoTime();
+        leaseRepository.tryAcquire(LEASE_NAME, owner, Math.max(1, ttl.toSeconds()))
+                .subscribe(acquired -> {
+                    boolean wasLeader = isLeader();
+                    if (acquired) {
+                        leaderUntilNanos = startNanos + ttl.minus(heartbeat).toNanos();
+                        leader = true;
+                        if (!wasLeader) {
+                            logger.info("Instance {} acquired the campaign activation lease", owner);
+                            onGranted.run();
+                        }
+                    } else {
+                        leader = false;
+                        if (wasLeader) {
+                            logger.warn("Instance {} lost the campaign activation lease", owner);
+                        }
+                    }
+                }, e -> logger.error("Error occurred while renewing the campaign activation lease", e));
+    }
+
+    @PreDestroy
+    public void release() {
+        if (!leader) {
+            return;
+        }
+        leader = false;
+        // Lets another instance take over on its next heartbeat instead of waiting for expiry
+        leaseRepository.release(LEASE_NAME, owner)
+                .timeout(heartbeat)
+                .doOnError(e -> logger.warn("Campaign activation lease was not released: {}", e.getMessage()))
+                .onErrorComplete()
+                .block();
+        logger.info("Instance {} released the campaign activation lease", owner);
+    }
+
+    private static String defaultInstanceId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        return host + ":" + ManagementFactory.getRuntimeMXBean().getPid() + ":" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
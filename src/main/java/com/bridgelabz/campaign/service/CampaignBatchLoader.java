@@ -0,0 +1,106 @@
+package com.bridgelabz.campaign.service;
+
+import com.bridgelabz.campaign.model.Campaign;
+import com.bridgelabz.campaign.repository.CampaignRepository;
+import com.bridgelabz.campaign.utility.ConcurrencyLimiter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Coalesces concurrent campaign-by-id lookups. Requests arriving within {@code window}, up to
+ * {@code maxBatchSize} of them, are resolved by one {@code WHERE campaign_id IN (...)} query and
+ * the rows are handed back to each waiting caller, so a burst of lookups holds one connection
+ * instead of one each. Sits behind {@link CampaignCache}, which already merges lookups of the same id.
+ * With admission control enabled each batch query takes a permit from the shared database limiter, so
+ * only cache misses count against it; a rejected batch fails its lookups with the limiter's exception.
+ */
+@Component
+public class CampaignBatchLoader {
+
+    private static final Logger logger = LogManager.getLogger(CampaignBatchLoader.class);
+
+    private final CampaignRepository campaignRepository;
+    private final ConcurrencyLimiter databaseLimiter;
+    private final Sinks.Many<Request> requests = Sinks.many().unicast().onBackpressureBuffer();
+    private final DistributionSummary batchSizes;
+    private final Disposable subscription;
+
+    @Autowired
+    public CampaignBatchLoader(CampaignRepository campaignRepository, MeterRegistry meterRegistry,
+                               ObjectProvider<ConcurrencyLimiter> databaseLimiter,
+                               @Value("${campaign.loader.window:PT0.002S}") Duration window,
+                               @Value("${campaign.loader.max-batch-size:100}") int maxBatchSize,
+                               @Value("${campaign.loader.max-concurrent-batches:4}") int maxConcurrentBatches) {
+        this.campaignRepository = campaignRepository;
+        this.databaseLimiter = databaseLimiter.getIfAvailable();
+        this.batchSizes = DistributionSummary.builder("campaign.loader.batch.size")
+                .description("Campaign ids resolved per coalesced query")
+                .register(meterRegistry);
+        this.subscription = requests.asFlux()
+                .bufferTimeout(maxBatchSize, window, true)
+                .flatMap(this::resolve, maxConcurrentBatches)
+                .subscribe(null, e -> logger.error("Campaign batch loader stopped", e));
+    }
+
+    // Completes with the campaign, or with null when no campaign has that id
+    public CompletableFuture<Campaign> load(int campaignId) {
+        CompletableFuture<Campaign> result = new CompletableFuture<>();
+        Sinks.EmitResult emitted;
+        // The unicast sink only accepts one emitter at a time
+        synchronized (requests) {
+            emitted = requests.tryEmitNext(new Request(campaignId, result));
+        }
+        if (emitted.isFailure()) {
+            result.completeExceptionally(new IllegalStateException("Campaign batch loader is not accepting lookups: " + emitted));
+        }
+        return result;
+    }
+
+    private Mono<Void> resolve(List<Request> batch) {
+        Set<Integer> campaignIds = new LinkedHashSet<>();
+        batch.forEach(request -> campaignIds.add(request.campaignId()));
+        batchSizes.record(campaignIds.size());
+        Mono<Map<Integer, Campaign>> query = campaignRepository.findAllById(campaignIds)
+                .collectMap(Campaign::getCampaignId, Function.identity());
+        return (databaseLimiter == null ? query : databaseLimiter.run(query))
+                .doOnNext(campaigns -> complete(batch, campaigns))
+                .doOnError(e -> {
+                    logger.error("Error occurred while loading {} campaigns in one batch: {}", campaignIds.size(), e.getMessage());
+                    batch.forEach(request -> request.result().completeExceptionally(e));
+                })
+                .onErrorComplete()
+                .then();
+    }
+
+    private static void complete(List<Request> batch, Map<Integer, Campaign> campaigns) {
+        for (Request request : batch) {
+            request.result().complete(campaigns.get(request.campaignId()));
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        subscription.dispose();
+    }
+
+    private record Request(int campaignId, CompletableFuture<Campaign> result) {
+    }
+}
@@ -0,0 +1,67 @@
+package com.bridgelabz.campaign.service;
+
+import com.bridgelabz.campaign.model.Campaign;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded read-through cache in front of the campaign table.
+ * Concurrent misses for the same id share one in-flight load, and misses for different ids
+ * are coalesced into one query by {@link CampaignBatchLoader}.
+ */
+@Component
+public class CampaignCache {
+
+    private final AsyncLoadingCache<Integer, Campaign> cache;
+
+    @Autowired
+    public CampaignCache(CampaignBatchLoader campaignBatchLoader,
+                         @Value("${campaign.cache.max-size:10000}") long maxSize,
+                         @Value("${campaign.cache.ttl:PT5M}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                // An unknown id completes the future with null, which Caffeine does not store
+                .buildAsync((campaignId, executor) -> campaignBatchLoader.load(campaignId));
+    }
+
+    public Mono<Campaign> get(int campaignId) {
+        // Cancelling one subscriber must not cancel the load shared with the others
+        return Mono.fromFuture(() -> cache.get(campaignId), true);
+    }
+
+    public void invalidate(int campaignId) {
+        cache.synchronous().invalidate(campaignId);
+    }
+
+    public void invalidateByName(String campaignName) {
+        cache.synchronous().asMap().values().removeIf(campaign -> campaignName.equals(campaign.getCampaignName()));
+    }
+
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats stats = cache.synchronous().stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", cache.synchronous().estimatedSize());
+        result.put("hitCount", stats.hitCount());
+        result.put("missCount", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictionCount", stats.evictionCount());
+        result.put("loadFailureCount", stats.loadFailureCount());
+        result.put("averageLoadPenaltyNanos", stats.averageLoadPenalty());
+        return result;
+    }
+}
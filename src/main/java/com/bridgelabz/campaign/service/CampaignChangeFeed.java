@@ -0,0 +1,145 @@
+package com.bridgelabz.campaign.service;
+
+import com.bridgelabz.campaign.model.Campaign;
+import com.bridgelabz.campaign.model.CampaignChangeEvent;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Exceptions;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Push feed of campaign mutations.
+ * <p>
+ * The last {@code replaySize} events are retained so a subscriber can resume after its last
+ * event id. Ids carry an epoch unique to this feed instance, so an id from before a restart or
+ * from another replica is recognized and answered with a RESYNC instead of a wrong position.
+ * Each subscriber gets its own bounded buffer; when it overflows the backlog is dropped, the
+ * subscriber receives a RESYNC and then continues with live events.
+ */
+@Component
+public class CampaignChangeFeed {
+
+    private static final Logger logger = LogManager.getLogger(CampaignChangeFeed.class);
+
+    private final Sinks.Many<CampaignChangeEvent> sink;
+    private final int replaySize;
+    private final int subscriberBuffer;
+    // Start time plus a random part, replicas started in the same millisecond still differ
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36) + Integer.toString(ThreadLocalRandom.current().nextInt(46656), 36);
+    private long sequence;
+
+    @Autowired
+    public CampaignChangeFeed(@Value("${campaign.feed.replay-size:1000}") int replaySize,
+                              @Value("${campaign.feed.subscriber-buffer:256}") int subscriberBuffer) {
+        this.sink = Sinks.many().replay().limit(replaySize);
+        this.replaySize = replaySize;
+        this.subscriberBuffer = subscriberBuffer;
+    }
+
+    public void created(Campaign campaign) {
+        publish(CampaignChangeEvent.Type.CREATED, campaign.getCampaignId(), campaign.getCampaignName(), campaign);
+    }
+
+    public void updated(Campaign campaign) {
+        publish(CampaignChangeEvent.Type.UPDATED, campaign.getCampaignId(), campaign.getCampaignName(), campaign);
+    }
+
+    public void deleted(Integer campaignId, String campaignName) {
+        publish(CampaignChangeEvent.Type.DELETED, campaignId, campaignName, null);
+    }
+
+    public void archived(int campaignId) {
+        publish(CampaignChangeEvent.Type.ARCHIVED, campaignId, null, null);
+    }
+
+    public void restored(Campaign campaign) {
+        publish(CampaignChangeEvent.Type.RESTORED, campaign.getCampaignId(), campaign.getCampaignName(), campaign);
+    }
+
+    public void activationChanged(Campaign campaign) {
+        CampaignChangeEvent.Type type = campaign.isActive() ? CampaignChangeEvent.Type.ACTIVATED : CampaignChangeEvent.Type.DEACTIVATED;
+        publish(type, campaign.getCampaignId(), campaign.getCampaignName(), campaign);
+    }
+
+    public void activationRun(int activated, int deactivated) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        counts.put("activated", activated);
+        counts.put("deactivated", deactivated);
+        publish(CampaignChangeEvent.Type.ACTIVATION_RUN, null, null, counts);
+    }
+
+    // Events after the given event id, then live events; without an id only events published from now on
+    public Flux<CampaignChangeEvent> subscribe(String lastEventId) {
+        return Flux.defer(() -> {
+            long current = currentSequence();
+            long oldestRetained = Math.max(1, current - replaySize + 1);
+            Long afterSequence = lastEventId == null ? null : sequenceOf(lastEventId);
+            // Unknown epoch (restart, failover, malformed id) or a position no longer retained
+            boolean stale = lastEventId != null && (afterSequence == null || afterSequence < oldestRetained - 1 || afterSequence > current);
+            if (stale) {
+                // The client cannot be caught up event by event, tell it to reload before it applies the rest
+                return Flux.concat(Flux.just(resync(oldestRetained - 1)), live(oldestRetained - 1));
+            }
+            // A fresh client has just loaded current state, replaying history would re-apply old changes
+            return live(afterSequence == null ? current : afterSequence);
+        });
+    }
+
+    private Flux<CampaignChangeEvent> live(long after) {
+        return sink.asFlux()
+                .filter(event -> event.getSequence() > after)
+                .onBackpressureBuffer(subscriberBuffer, dropped -> logger.warn("Change feed subscriber fell behind at sequence {}", dropped.getSequence()),
+                        BufferOverflowStrategy.ERROR)
+                // A slow subscriber is told to reload and then continues from the newest event
+                .onErrorResume(Exceptions::isOverflow, e -> Flux.defer(() -> {
+                    long current = currentSequence();
+                    return Flux.concat(Flux.just(resync(current)), live(current));
+                }));
+    }
+
+    private CampaignChangeEvent resync(long sequence) {
+        return new CampaignChangeEvent(eventId(sequence), sequence, CampaignChangeEvent.Type.RESYNC, null, null, null, Instant.now());
+    }
+
+    private String eventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    // The sequence of one of this feed's event ids, null for ids from another epoch
+    private Long sequenceOf(String eventId) {
+        String trimmed = eventId.trim();
+        int separator = trimmed.lastIndexOf('-');
+        if (separator < 0 || !trimmed.substring(0, separator).equals(epoch)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(trimmed.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private synchronized long currentSequence() {
+        return sequence;
+    }
+
+    // Serialized so sequence numbers and emission order always agree
+    private synchronized void publish(CampaignChangeEvent.Type type, Integer campaignId, String campaignName, Object data) {
+        long next = ++sequence;
+        CampaignChangeEvent event = new CampaignChangeEvent(eventId(next), next, type, campaignId, campaignName, data, Instant.now());
+        Sinks.EmitResult result = sink.tryEmitNext(event);
+        if (result.isFailure()) {
+            logger.warn("Campaign change event {} was not published: {}", event.getSequence(), result);
+        }
+    }
+}
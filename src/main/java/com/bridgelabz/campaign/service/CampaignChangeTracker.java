@@ -0,0 +1,138 @@
+package com.bridgelabz.campaign.service;
+
+import com.bridgelabz.campaign.model.Campaign;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Table-level change counter behind the campaign ETags.
+ * <p>
+ * The counter lives in memory, so the tag also carries the instance start time (a restart never
+ * reuses an old tag) and a time bucket of the cache TTL, which bounds how long a write made through
+ * another instance can go unnoticed, the same bound {@link CampaignCache} already accepts.
+ * <p>
+ * Table tags are therefore instance-local: behind a load balancer without sticky sessions a list
+ * revalidated on another replica misses and is sent in full. The row part of a row tag is derived
+ * from the row itself (id, version, active flag), so a single campaign still revalidates on any
+ * replica once the row is read.
+ */
+@Component
+public class CampaignChangeTracker {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong counter = new AtomicLong();
+    private final long bucketMillis;
+
+    @Autowired
+    public CampaignChangeTracker(@Value("${campaign.cache.ttl:PT5M}") Duration bucket) {
+        this.bucketMillis = Math.max(1, bucket.toMillis());
+    }
+
+    public void markChanged() {
+        counter.incrementAndGet();
+    }
+
+    public long changeCount() {
+        return counter.get();
+    }
+
+    // Read before the data it describes, so a concurrent write can only make the tag older, never newer
+    public String tableTag() {
+        return epoch + "-" + counter.get() + "-" + Long.toString(System.currentTimeMillis() / bucketMillis, 36);
+    }
+
+    public String tableETag() {
+        return quote(tableTag());
+    }
+
+    // Sparse (fields=) and binary representations carry a variant suffix so they never validate a full JSON copy
+    public String tableETag(String variant) {
+        return quote(tableTag() + variant);
+    }
+
+    // CBOR and Smile bodies carry a suffix of their own, a tag never validates a copy in another encoding.
+    // Follows WebFlux's choice: the most specific, highest quality Accept entry that the service produces
+    public static String encodingVariant(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return "";
+        }
+        List<MediaType> acceptable;
+        try {
+            acceptable = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return "";
+        }
+        MimeTypeUtils.sortBySpecificity(acceptable);
+        for (MediaType mediaType : acceptable) {
+            if (mediaType.isWildcardType() || mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return "";
+            }
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_CBOR)) {
+                return "+cbor";
+            }
+            if (mediaType.isCompatibleWith(SMILE)) {
+                return "+smile";
+            }
+        }
+        return "";
+    }
+
+    // Row part changes with every UPDATE (version) and every activation flip (isActive)
+    public static String rowTag(Campaign campaign) {
+        return campaign.getCampaignId() + "." + campaign.getVersion() + "." + (campaign.isActive() ? "a" : "i");
+    }
+
+    public static String rowETag(Campaign campaign, String tableTag) {
+        return quote(rowTag(campaign) + "@" + tableTag);
+    }
+
+    public static String rowETag(Campaign campaign, String variant, String tableTag) {
+        return quote(rowTag(campaign) + variant + "@" + tableTag);
+    }
+
+    // Strong comparison against a single tag, or any tag of an If-None-Match list; "*" is left to wildcard()
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            if (candidate.trim().equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // If-None-Match: * only matches once the caller knows a current representation exists
+    public static boolean wildcard(String ifNoneMatch) {
+        return ifNoneMatch != null && ifNoneMatch.trim().equals("*");
+    }
+
+    // The row part of a row ETag from If-None-Match, or null when it is not one of ours
+    public static String rowTagOf(String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return null;
+        }
+        String trimmed = ifNoneMatch.trim();
+        int separator = trimmed.indexOf('@');
+        if (trimmed.indexOf(',') >= 0 || !trimmed.startsWith("\"") || separator < 0) {
+            return null;
+        }
+        return trimmed.substring(1, separator);
+    }
+
+    private static String quote(String tag) {
+        return "\"" + tag + "\"";
+    }
+}
@@ -0,0 +1,419 @@
+package com.bridgelabz.campaign.service;
+
+import com.bridgelabz.campaign.model.Campaign;
+import com.bridgelabz.campaign.repository.CampaignRepository;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * In-memory index over campaign start/end dates, answering "live at T" and
+ * "starting/ending within a window" without a database round trip.
+ * <p>
+ * Readers work on an immutable snapshot: sorted arrays built in one O(n log n) pass, plus a small
+ * overlay of campaigns written since. A write only copies the overlay, and queries merge it into
+ * the array results. Once the overlay outgrows roughly the square root of the index it is folded
+ * into a fresh build, so a write costs O(sqrt n) plus an amortized share of the next build
+ * instead of a full rebuild.
+ */
+@Component
+public class CampaignIntervalIndex {
+
+    private static final Logger logger = LogManager.getLogger(CampaignIntervalIndex.class);
+    private static final int MIN_OVERLAY_LIMIT = 32;
+
+    private final CampaignRepository campaignRepository;
+    private volatile Snapshot snapshot;
+    // Reloads in flight, each collecting the mutations it has to replay on top of the rows it loaded
+    private final List<PendingReload> pendingReloads = new ArrayList<>();
+    private long reloadsStarted;
+    private long installedReload;
+
+    @Autowired
+    public CampaignIntervalIndex(CampaignRepository campaignRepository) {
+        this.campaignRepository = campaignRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        reload().subscribe(null, e -> logger.error("Error occurred while loading the campaign interval index", e));
+    }
+
+    // Overlapping reloads are independent; one that started earlier never replaces the result of a later one
+    public Mono<Void> reload() {
+        return Mono.defer(() -> {
+            PendingReload pending;
+            synchronized (this) {
+                pending = new PendingReload(++reloadsStarted);
+                pendingReloads.add(pending);
+            }
+            return campaignRepository.findAll().collectList()
+                    .doOnNext(campaigns -> install(pending, campaigns))
+                    .doFinally(signal -> {
+                        synchronized (this) {
+                            pendingReloads.remove(pending);
+                        }
+                    })
+                    .then();
+        });
+    }
+
+    private synchronized void install(PendingReload pending, List<Campaign> campaigns) {
+        if (pending.sequence < installedReload) {
+            logger.debug("Discarding campaign interval index reload {}, reload {} is newer", pending.sequence, installedReload);
+            return;
+        }
+        Map<Integer, Campaign> campaignsById = new HashMap<>();
+        for (Campaign campaign : campaigns) {
+            campaignsById.put(campaign.getCampaignId(), campaign);
+        }
+        pending.mutations.forEach(mutation -> mutation.accept(campaignsById));
+        snapshot = Snapshot.of(campaignsById);
+        installedReload = pending.sequence;
+        logger.info("Campaign interval index loaded with {} campaigns", campaignsById.size());
+    }
+
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    public void put(Campaign campaign) {
+        putAll(List.of(campaign));
+    }
+
+    public void putAll(List<Campaign> campaigns) {
+        Map<Integer, Campaign> written = new HashMap<>();
+        campaigns.forEach(campaign -> written.put(campaign.getCampaignId(), campaign));
+        mutate(campaignsById -> campaignsById.putAll(written), current -> current.with(written));
+    }
+
+    public void remove(int campaignId) {
+        mutate(campaignsById -> campaignsById.remove(campaignId), current -> {
+            Map<Integer, Campaign> removed = new HashMap<>();
+            removed.put(campaignId, null);
+            return current.with(removed);
+        });
+    }
+
+    public void removeByName(String campaignName) {
+        mutate(campaignsById -> campaignsById.values().removeIf(campaign -> campaignName.equals(campaign.getCampaignName())), current -> {
+            Map<Integer, Campaign> removed = new HashMap<>();
+            for (Campaign campaign : current.all()) {
+                if (campaignName.equals(campaign.getCampaignName())) {
+                    removed.put(campaign.getCampaignId(), null);
+                }
+            }
+            return removed.isEmpty() ? current : current.with(removed);
+        });
+    }
+
+    // Same window as the activation query: start_date < at AND end_date > at
+    public List<Campaign> liveAt(Instant at) {
+        return requireSnapshot().liveAt(at.toEpochMilli());
+    }
+
+    // Campaigns whose start date falls in [from, to), ordered by start date
+    public List<Campaign> startingBetween(Instant from, Instant to) {
+        Snapshot current = requireSnapshot();
+        return current.range(current.base.byStart, current.base.starts, Base.BY_START, Campaign::getStartDate, from.toEpochMilli(), to.toEpochMilli());
+    }
+
+    // Campaigns whose end date falls in [from, to), ordered by end date
+    public List<Campaign> endingBetween(Instant from, Instant to) {
+        Snapshot current = requireSnapshot();
+        return current.range(current.base.byEnd, current.base.ends, Base.BY_END, Campaign::getEndDate, from.toEpochMilli(), to.toEpochMilli());
+    }
+
+    public Campaign get(int campaignId) {
+        return requireSnapshot().get(campaignId);
+    }
+
+    // Applies the activation rule at 'at' to the indexed rows, the same flips activateStarted/deactivateOutsideWindow make
+    // in the table; returns the updated campaigns. Scans memory only, no database round trip
+    public synchronized List<Campaign> applyActivation(Instant at) {
+        long now = at.toEpochMilli();
+        List<Campaign> flipped = new ArrayList<>();
+        for (Campaign campaign : requireSnapshot().all()) {
+            boolean live = campaign.getStartDate().toEpochMilli() < now && campaign.getEndDate().toEpochMilli() > now;
+            if (campaign.isActive() != live) {
+                flipped.add(withActive(campaign, live));
+            }
+        }
+        if (!flipped.isEmpty()) {
+            putAll(flipped);
+        }
+        return flipped;
+    }
+
+    // Earliest start or end date strictly after 'at', null when no campaign has one
+    public Instant nextTransitionAfter(Instant at) {
+        Snapshot current = requireSnapshot();
+        long after = at.toEpochMilli() + 1;
+        Instant nextStart = current.firstFrom(current.base.byStart, current.base.starts, Campaign::getStartDate, after);
+        Instant nextEnd = current.firstFrom(current.base.byEnd, current.base.ends, Campaign::getEndDate, after);
+        if (nextStart == null || nextEnd == null) {
+            return nextStart == null ? nextEnd : nextStart;
+        }
+        return nextStart.isBefore(nextEnd) ? nextStart : nextEnd;
+    }
+
+    public int size() {
+        Snapshot current = snapshot;
+        return current == null ? 0 : current.size;
+    }
+
+    private synchronized void mutate(Consumer<Map<Integer, Campaign>> replay, UnaryOperator<Snapshot> apply) {
+        for (PendingReload pending : pendingReloads) {
+            pending.mutations.add(replay);
+        }
+        if (snapshot != null) {
+            snapshot = apply.apply(snapshot);
+        }
+    }
+
+    // Snapshots share their Campaign instances, so a flip is a copy rather than a setter call
+    private static Campaign withActive(Campaign campaign, boolean active) {
+        return new Campaign(campaign.getCampaignId(), campaign.getCampaignName(), campaign.getShortName(), campaign.getCampaignDescription(),
+                campaign.getStartDate(), campaign.getEndDate(), campaign.getMaxAttempts(), campaign.getPassPercentage(),
+                active, campaign.isArchive(), campaign.getVersion());
+    }
+
+    private Snapshot requireSnapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            throw new IllegalStateException("Campaign interval index is not loaded yet");
+        }
+        return current;
+    }
+
+    private static final class PendingReload {
+
+        private final long sequence;
+        private final List<Consumer<Map<Integer, Campaign>>> mutations = new ArrayList<>();
+
+        private PendingReload(long sequence) {
+            this.sequence = sequence;
+        }
+    }
+
+    // Base arrays plus the campaigns written since they were built; a null overlay value is a removal
+    private static final class Snapshot {
+
+        private final Base base;
+        private final Map<Integer, Campaign> overlay;
+        private final int size;
+
+        private Snapshot(Base base, Map<Integer, Campaign> overlay, int size) {
+            this.base = base;
+            this.overlay = overlay;
+            this.size = size;
+        }
+
+        private static Snapshot of(Map<Integer, Campaign> campaignsById) {
+            return new Snapshot(Base.of(campaignsById), Map.of(), campaignsById.size());
+        }
+
+        private Snapshot with(Map<Integer, Campaign> written) {
+            Map<Integer, Campaign> nextOverlay = new HashMap<>(overlay);
+            int nextSize = size;
+            for (Map.Entry<Integer, Campaign> entry : written.entrySet()) {
+                boolean existed = get(entry.getKey()) != null;
+                nextSize += (entry.getValue() != null ? 1 : 0) - (existed ? 1 : 0);
+                nextOverlay.put(entry.getKey(), entry.getValue());
+            }
+            if (nextOverlay.size() <= Math.max(MIN_OVERLAY_LIMIT, (int) Math.sqrt(base.byStart.length))) {
+                return new Snapshot(base, nextOverlay, nextSize);
+            }
+            // Fold: one full build, paid for by the writes that filled the overlay
+            Map<Integer, Campaign> campaignsById = new HashMap<>(base.campaignsById);
+            nextOverlay.forEach((campaignId, campaign) -> {
+                if (campaign == null) {
+                    campaignsById.remove(campaignId);
+                } else {
+                    campaignsById.put(campaignId, campaign);
+                }
+            });
+            return of(campaignsById);
+        }
+
+        private Campaign get(int campaignId) {
+            return overlay.containsKey(campaignId) ? overlay.get(campaignId) : base.campaignsById.get(campaignId);
+        }
+
+        // Base rows not shadowed by the overlay, then the overlay's live rows
+        private List<Campaign> all() {
+            List<Campaign> result = new ArrayList<>(size);
+            for (Campaign campaign : base.byStart) {
+                if (!overlay.containsKey(campaign.getCampaignId())) {
+                    result.add(campaign);
+                }
+            }
+            for (Campaign campaign : overlay.values()) {
+                if (campaign != null) {
+                    result.add(campaign);
+                }
+            }
+            return result;
+        }
+
+        private List<Campaign> liveAt(long at) {
+            List<Campaign> result = new ArrayList<>();
+            base.stab(0, base.byStart.length, at, result);
+            if (overlay.isEmpty()) {
+                return result;
+            }
+            result.removeIf(campaign -> overlay.containsKey(campaign.getCampaignId()));
+            for (Campaign campaign : overlay.values()) {
+                if (campaign != null && campaign.getStartDate().toEpochMilli() < at && campaign.getEndDate().toEpochMilli() > at) {
+                    result.add(campaign);
+                }
+            }
+            return result;
+        }
+
+        private List<Campaign> range(Campaign[] sorted, long[] keys, Comparator<Campaign> order, Function<Campaign, Instant> key, long from, long to) {
+            int first = Base.lowerBound(keys, from);
+            int last = Base.lowerBound(keys, to);
+            if (overlay.isEmpty()) {
+                return first >= last ? List.of() : List.of(Arrays.copyOfRange(sorted, first, last));
+            }
+            List<Campaign> result = new ArrayList<>();
+            for (int i = first; i < last; i++) {
+                if (!overlay.containsKey(sorted[i].getCampaignId())) {
+                    result.add(sorted[i]);
+                }
+            }
+            boolean merged = false;
+            for (Campaign campaign : overlay.values()) {
+                if (campaign == null) {
+                    continue;
+                }
+                long value = key.apply(campaign).toEpochMilli();
+                if (value >= from && value < to) {
+                    result.add(campaign);
+                    merged = true;
+                }
+            }
+            if (merged) {
+                result.sort(order);
+            }
+            return result;
+        }
+
+        // Earliest key at or after 'from', skipping base rows the overlay replaced or removed
+        private Instant firstFrom(Campaign[] sorted, long[] keys, Function<Campaign, Instant> key, long from) {
+            Instant first = null;
+            for (int i = Base.lowerBound(keys, from); i < sorted.length; i++) {
+                if (!overlay.containsKey(sorted[i].getCampaignId())) {
+                    first = key.apply(sorted[i]);
+                    break;
+                }
+            }
+            for (Campaign campaign : overlay.values()) {
+                Instant value = campaign == null ? null : key.apply(campaign);
+                if (value != null && value.toEpochMilli() >= from && (first == null || value.isBefore(first))) {
+                    first = value;
+                }
+            }
+            return first;
+        }
+    }
+
+    private static final class Base {
+
+        private static final Comparator<Campaign> BY_START = Comparator.comparing(Campaign::getStartDate).thenComparingInt(Campaign::getCampaignId);
+        private static final Comparator<Campaign> BY_END = Comparator.comparing(Campaign::getEndDate).thenComparingInt(Campaign::getCampaignId);
+
+        private final Map<Integer, Campaign> campaignsById;
+        private final Campaign[] byStart;
+        private final long[] starts;
+        // ends and maxEnd are aligned with byStart; maxEnd[mid] covers the implicit subtree rooted at mid
+        private final long[] startOrderEnds;
+        private final long[] maxEnd;
+        private final Campaign[] byEnd;
+        private final long[] ends;
+
+        private Base(Map<Integer, Campaign> campaignsById, Campaign[] byStart, Campaign[] byEnd) {
+            this.campaignsById = campaignsById;
+            this.byStart = byStart;
+            this.starts = new long[byStart.length];
+            this.startOrderEnds = new long[byStart.length];
+            for (int i = 0; i < byStart.length; i++) {
+                starts[i] = byStart[i].getStartDate().toEpochMilli();
+                startOrderEnds[i] = byStart[i].getEndDate().toEpochMilli();
+            }
+            this.maxEnd = new long[byStart.length];
+            buildMaxEnd(0, byStart.length);
+            this.byEnd = byEnd;
+            this.ends = new long[byEnd.length];
+            for (int i = 0; i < byEnd.length; i++) {
+                ends[i] = byEnd[i].getEndDate().toEpochMilli();
+            }
+        }
+
+        private static Base of(Map<Integer, Campaign> campaignsById) {
+            Campaign[] byStart = campaignsById.values().toArray(new Campaign[0]);
+            Arrays.sort(byStart, BY_START);
+            Campaign[] byEnd = byStart.clone();
+            Arrays.sort(byEnd, BY_END);
+            return new Base(campaignsById, byStart, byEnd);
+        }
+
+        private long buildMaxEnd(int lo, int hi) {
+            if (lo >= hi) {
+                return Long.MIN_VALUE;
+            }
+            int mid = (lo + hi) >>> 1;
+            long max = Math.max(startOrderEnds[mid], Math.max(buildMaxEnd(lo, mid), buildMaxEnd(mid + 1, hi)));
+            maxEnd[mid] = max;
+            return max;
+        }
+
+        // Implicit interval tree over the start-sorted array; subtrees ending at or before 'at' are pruned, O((k + 1) log n)
+        private void stab(int lo, int hi, long at, List<Campaign> result) {
+            if (lo >= hi) {
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            if (maxEnd[mid] <= at) {
+                return;
+            }
+            stab(lo, mid, at, result);
+            if (starts[mid] < at) {
+                if (startOrderEnds[mid] > at) {
+                    result.add(byStart[mid]);
+                }
+                stab(mid + 1, hi, at, result);
+            }
+        }
+
+        private static int lowerBound(long[] keys, long key) {
+            int lo = 0;
+            int hi = keys.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (keys[mid] < key) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+}
@@ -1,18 +1,40 @@
 package com.bridgelabz.campaign.service;
 
 import com.bridgelabz.campaign.model.Campaign;
+import com.bridgelabz.campaign.model.CampaignBatchUpdate;
+import com.bridgelabz.campaign.model.CampaignChangeEvent;
 import com.bridgelabz.campaign.model.CampaignDto;
+import com.bridgelabz.campaign.model.CampaignSearchCriteria;
 import com.bridgelabz.campaign.utility.ResponseMessage;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Instant;
+
 public interface CampaignService {
 
     Mono<ResponseEntity<ResponseMessage>> createCampaign(CampaignDto campaignDto);
-    Mono<ResponseEntity<ResponseMessage>> getAllCampaigns();
-    Mono<ResponseEntity<ResponseMessage>> getCampaign(int campaignId);
+    Mono<ResponseEntity<ResponseMessage>> createCampaigns(Flux<CampaignDto> campaignDtos);
+    Mono<ResponseEntity<ResponseMessage>> updateCampaigns(Flux<CampaignBatchUpdate> updates);
+    Mono<ResponseEntity<ResponseMessage>> getAllCampaigns(String ifNoneMatch, String accept, String fields);
+    Flux<Campaign> streamAllCampaigns();
+    Mono<ResponseEntity<ResponseMessage>> getCampaignPage(int afterId, int limit, String fields);
+    Mono<ResponseEntity<ResponseMessage>> getCampaign(int campaignId, String ifNoneMatch, String accept, String fields);
+    Mono<ResponseEntity<ResponseMessage>> search(CampaignSearchCriteria criteria);
+    Mono<ResponseEntity<ResponseMessage>> getLiveCampaigns(Instant at);
+    Mono<ResponseEntity<ResponseMessage>> getCampaignsStartingBetween(Instant from, Instant to);
+    Mono<ResponseEntity<ResponseMessage>> getCampaignsEndingBetween(Instant from, Instant to);
     Mono<ResponseEntity<ResponseMessage>> update(int campaignId, CampaignDto updatedCampaignDto);
     Mono<ResponseEntity<ResponseMessage>> deleteById(int campaignId);
     Mono<ResponseEntity<ResponseMessage>> deleteByName(String campaignName);
+    Mono<ResponseEntity<ResponseMessage>> archive(int campaignId);
+    Mono<ResponseEntity<ResponseMessage>> restore(int campaignId);
+    Mono<ResponseEntity<ResponseMessage>> getArchivedCampaign(int campaignId);
+    Mono<ResponseEntity<ResponseMessage>> getArchivedPage(int afterId, int limit);
+    Mono<ResponseEntity<ResponseMessage>> getCacheStats();
+    Mono<ResponseEntity<ResponseMessage>> getStatistics();
+    Flux<ServerSentEvent<CampaignChangeEvent>> streamChanges(String lastEventId);
 
 }
@@ -1,40 +1,105 @@
 package com.bridgelabz.campaign.service;
 
+import com.bridgelabz.campaign.model.BatchItemResult;
 import com.bridgelabz.campaign.model.Campaign;
+import com.bridgelabz.campaign.model.CampaignBatchUpdate;
+import com.bridgelabz.campaign.model.CampaignChangeEvent;
 import com.bridgelabz.campaign.model.CampaignDto;
+import com.bridgelabz.campaign.model.CampaignField;
+import com.bridgelabz.campaign.model.CampaignPage;
+import com.bridgelabz.campaign.model.CampaignSearchCriteria;
+import com.bridgelabz.campaign.repository.CampaignArchiveRepository;
 import com.bridgelabz.campaign.repository.CampaignRepository;
+import com.bridgelabz.campaign.repository.UpdateOutcome;
 import com.bridgelabz.campaign.utility.CampaignMapper;
+import com.bridgelabz.campaign.utility.CampaignMetrics;
 import com.bridgelabz.campaign.utility.CampaignValidator;
+import com.bridgelabz.campaign.utility.ConcurrencyLimiter;
+import com.bridgelabz.campaign.utility.LogSampler;
 import com.bridgelabz.campaign.utility.ResponseMessage;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Service
 @PropertySource("classpath:message.properties")
 public class CampaignServiceImpl implements CampaignService{
 
     private final CampaignRepository campaignRepository;
+    private final CampaignArchiveRepository campaignArchiveRepository;
     private final CampaignValidator campaignValidator;
     private final Environment env;
     private final CampaignMapper campaignMapper;
+    private final CampaignCache campaignCache;
+    private final CampaignIntervalIndex campaignIntervalIndex;
+    private final CampaignChangeTracker campaignChangeTracker;
+    private final CampaignChangeFeed campaignChangeFeed;
+    private final CampaignStatistics campaignStatistics;
+    private final ActivationLease activationLease;
+    private final TaskScheduler taskScheduler;
+    private final CampaignMetrics campaignMetrics;
+    private final LogSampler logSampler;
+    private final int maxPageLimit;
+    private final int batchChunkSize;
+    private final Duration feedHeartbeat;
+    private final Duration followerDelay;
+    private ScheduledFuture<?> nextActivation;
+    private Instant nextActivationAt;
 
     @Autowired
-    public CampaignServiceImpl(CampaignRepository campaignRepository, CampaignValidator campaignValidator, Environment env, CampaignMapper campaignMapper) {
+    public CampaignServiceImpl(CampaignRepository campaignRepository, CampaignArchiveRepository campaignArchiveRepository, CampaignValidator campaignValidator, Environment env, CampaignMapper campaignMapper,
+                               CampaignCache campaignCache, CampaignIntervalIndex campaignIntervalIndex,
+                               CampaignChangeTracker campaignChangeTracker, CampaignChangeFeed campaignChangeFeed, CampaignStatistics campaignStatistics,
+                               ActivationLease activationLease, TaskScheduler taskScheduler,
+                               CampaignMetrics campaignMetrics, LogSampler logSampler, @Value("${campaign.page.max-limit:1000}") int maxPageLimit,
+                               @Value("${campaign.batch.chunk-size:100}") int batchChunkSize,
+                               @Value("${campaign.feed.heartbeat:PT15S}") Duration feedHeartbeat,
+                               @Value("${campaign.activation.follower-delay:PT2S}") Duration followerDelay) {
         this.campaignRepository = campaignRepository;
+        this.campaignArchiveRepository = campaignArchiveRepository;
         this.campaignValidator = campaignValidator;
         this.env = env;
         this.campaignMapper = campaignMapper;
+        this.campaignCache = campaignCache;
+        this.campaignIntervalIndex = campaignIntervalIndex;
+        this.campaignChangeTracker = campaignChangeTracker;
+        this.campaignChangeFeed = campaignChangeFeed;
+        this.campaignStatistics = campaignStatistics;
+        this.activationLease = activationLease;
+        this.taskScheduler = taskScheduler;
+        this.campaignMetrics = campaignMetrics;
+        this.logSampler = logSampler;
+        this.maxPageLimit = maxPageLimit;
+        this.batchChunkSize = batchChunkSize;
+        this.feedHeartbeat = feedHeartbeat;
+        this.followerDelay = followerDelay;
+        // A new leader runs at once to apply transitions that passed while nobody held the lease
+        activationLease.onGranted(this::scheduleCampaignActivation);
     }
     private static final Logger logger = LogManager.getLogger(CampaignServiceImpl.class);
 
@@ -42,23 +107,35 @@ public class CampaignServiceImpl implements CampaignService{
     public Mono<ResponseEntity<ResponseMessage>> createCampaign(CampaignDto campaignDto) {
         logger.debug("Attempting to create a new campaign");
         Campaign campaign = campaignMapper.convertToEntity(campaignDto);
-        try {
-            campaignValidator.validate(campaign); // Validate general campaign constraints
-            campaignValidator.validateCampaignDates(campaign); // Validate campaign dates
-            campaignValidator.validateActivityStatus(campaign); // Validate activity status
-        } catch (IllegalArgumentException e) {
+        List<String> violations = campaignValidator.collectViolations(campaign); // Validate campaign constraints and dates
+        if (!violations.isEmpty()) {
             int code = HttpStatus.BAD_REQUEST.value();
-            String errorMessage = env.getProperty("error.validationFailed") + ": " + e.getMessage();
+            String errorMessage = validationMessage(violations);
             logger.warn(errorMessage);
-            return Mono.just(new ResponseEntity<>(new ResponseMessage(code, errorMessage, null), HttpStatus.BAD_REQUEST));
+            return campaignMetrics.timed("createCampaign", Mono.just(new ResponseEntity<>(new ResponseMessage(code, errorMessage, violations), HttpStatus.BAD_REQUEST)));
         }
+        campaignValidator.validateActivityStatus(campaign); // Validate activity status
+        // A new row starts unversioned so save() inserts it
+        campaign.setVersion(null);
         logger.debug("Validation successful. Proceeding to save the campaign.");
-        return campaignRepository.save(campaign)
+        return campaignMetrics.timed("createCampaign", campaignRepository.save(campaign)
+                // Created with the archive flag, the campaign moves to the cold tier right away as on update
+                .flatMap(savedCampaign -> savedCampaign.isArchive()
+                        ? campaignArchiveRepository.archive(savedCampaign.getCampaignId()).thenReturn(savedCampaign)
+                        : Mono.just(savedCampaign))
                 .flatMap(savedCampaign -> {
                     int code = HttpStatus.OK.value();
                     String message = env.getProperty("success.campaignCreated");
                     HttpStatus status = HttpStatus.OK;
-                    logger.info("Campaign created successfully. ID: {}", savedCampaign.getCampaignId());
+                    if (logSampler.sample("createCampaign")) {
+                        logger.info("Campaign created successfully. ID: {}", savedCampaign.getCampaignId());
+                    }
+                    onCampaignCreated(savedCampaign);
+                    if (savedCampaign.isArchive()) {
+                        onCampaignArchived(savedCampaign.getCampaignId());
+                    } else {
+                        scheduleActivationAt(savedCampaign.getStartDate());
+                    }
                     return Mono.just(new ResponseEntity<>(new ResponseMessage(code, message, savedCampaign), status));
                 })
                 .onErrorResume(e -> {
@@ -67,12 +144,167 @@ public class CampaignServiceImpl implements CampaignService{
                     HttpStatus status = HttpStatus.INTERNAL_SERVER_ERROR;
                     logger.error(errorMessage, e);
                     return Mono.just(new ResponseEntity<>(new ResponseMessage(code, errorMessage, null), status));
-                });
+                }));
+    }
+    @Override
+    public Mono<ResponseEntity<ResponseMessage>> createCampaigns(Flux<CampaignDto> campaignDtos) {
+        logger.debug("Attempting to create a batch of campaigns");
+        return campaignMetrics.timed("createCampaigns", campaignDtos.index()
+                .buffer(batchChunkSize)
+                .concatMap(this::createChunk)
+                .collectList()
+                .map(this::batchResponse)
+                .onErrorResume(e -> {
+                    int code = HttpStatus.INTERNAL_SERVER_ERROR.value();
+                    String errorMessage = env.getProperty("error.internalServerError");
+                    HttpStatus status = HttpStatus.INTERNAL_SERVER_ERROR;
+                    logger.error("Error occurred while creating campaign batch", e);
+                    return Mono.just(new ResponseEntity<>(new ResponseMessage(code, errorMessage, null), status));
+                }));
+    }
+    private Flux<BatchItemResult> createChunk(List<Tuple2<Long, CampaignDto>> chunk) {
+        List<BatchItemResult> results = new ArrayList<>();
+        List<Campaign> validCampaigns = new ArrayList<>();
+        List<Long> validIndexes = new ArrayList<>();
+        for (Tuple2<Long, CampaignDto> item : chunk) {
+            Campaign campaign = item.getT2() == null ? null : campaignMapper.convertToEntity(item.getT2());
+            String errorMessage = batchValidationError(campaign);
+            if (errorMessage != null) {
+                results.add(new BatchItemResult(item.getT1(), null, HttpStatus.BAD_REQUEST.value(), errorMessage));
+                continue;
+            }
+            campaignValidator.validateActivityStatus(campaign);
+            validCampaigns.add(campaign);
+            validIndexes.add(item.getT1());
+        }
+        return campaignRepository.insertAll(validCampaigns)
+                .map(savedCampaigns -> {
+                    String message = env.getProperty("success.campaignCreated");
+                    for (int i = 0; i < savedCampaigns.size(); i++) {
+                        Campaign savedCampaign = savedCampaigns.get(i);
+                        results.add(new BatchItemResult(validIndexes.get(i), savedCampaign.getCampaignId(), HttpStatus.OK.value(), message));
+                        scheduleActivationAt(savedCampaign.getStartDate());
+                    }
+                    onCampaignsCreated(savedCampaigns);
+                    logger.info("Campaign batch chunk created. {} saved, {} rejected", savedCampaigns.size(), chunk.size() - savedCampaigns.size());
+                    return results;
+                })
+                .onErrorResume(e -> {
+                    logger.error("Error occurred while inserting campaign batch chunk", e);
+                    return Mono.just(failChunk(results, validIndexes, null));
+                })
+                // Items created with the archive flag move to the cold tier once the chunk is written
+                .flatMap(chunkResults -> validCampaigns.stream().anyMatch(Campaign::isArchive)
+                        ? archiveFlagged().thenReturn(chunkResults)
+                        : Mono.just(chunkResults))
+                .flatMapMany(Flux::fromIterable);
+    }
+    @Override
+    public Mono<ResponseEntity<ResponseMessage>> updateCampaigns(Flux<CampaignBatchUpdate> updates) {
+        logger.debug("Attempting to update a batch of campaigns");
+        return campaignMetrics.timed("updateCampaigns", updates.index()
+                .buffer(batchChunkSize)
+                .concatMap(this::updateChunk)
+                .collectList()
+                .map(this::batchResponse)
+                .onErrorResume(e -> {
+                    int code = HttpStatus.INTERNAL_SERVER_ERROR.value();
+                    String errorMessage = env.getProperty("error.internalServerError");
+                    HttpStatus status = HttpStatus.INTERNAL_SERVER_ERROR;
+                    logger.error("Error occurred while updating campaign batch", e);
+                    return Mono.just(new ResponseEntity<>(new ResponseMessage(code, errorMessage, null), status));
+                }));
+    }
+    private Flux<BatchItemResult> updateChunk(List<Tuple2<Long, CampaignBatchUpdate>> chunk) {
+        List<BatchItemResult> results = new ArrayList<>();
+        List<Campaign> validCampaigns = new ArrayList<>();
+        List<Long> validIndexes = new ArrayList<>();
+        for (Tuple2<Long, CampaignBatchUpdate> item : chunk) {
+            int campaignId = item.getT2().getCampaignId();
+            CampaignDto campaignDto = item.getT2().getCampaign();
+            Campaign campaign = campaignDto == null ? null : campaignMapper.convertToEntity(campaignDto);
+            String errorMessage = batchValidationError(campaign);
+            if (errorMessage != null) {
+                results.add(new BatchItemResult(item.getT1(), campaignId, HttpStatus.BAD_REQUEST.value(), errorMessage));
+                continue;
+            }
+            campaign.setCampaignId(campaignId);
+            campaignValidator.validateActivityStatus(campaign);
+            validCampaigns.add(campaign);
+            validIndexes.add(item.getT1());
+        }
+        return campaignRepository.updateAll(validCampaigns)
+                .map(outcomes -> {
+                    int updatedCount = 0;
+                    for (int i = 0; i < validCampaigns.size(); i++) {
+                        Campaign campaign = validCampaigns.get(i);
+                        UpdateOutcome outcome = outcomes.get(campaign.getCampaignId());
+                        if (outcome == UpdateOutcome.UPDATED) {
+                            updatedCount++;
+                            results.add(new BatchItemResult(validIndexes.get(i), campaign.getCampaignId(), HttpStatus.OK.value(), env.getProperty("success.campaignUpdated")));
+                            onCampaignUpdated(campaign);
+                            scheduleActivationAt(campaign.getStartDate());
+                        } else if (outcome == UpdateOutcome.CONFLICT) {
+                            results.add(new BatchItemResult(validIndexes.get(i), campaign.getCampaignId(), HttpStatus.CONFLICT.value(), env.getProperty("error.campaignVersionConflict")));
+                        } else {
+                            results.add(new BatchItemResult(validIndexes.get(i), campaign.getCampaignId(), HttpStatus.NOT_FOUND.value(), env.getProperty("error.campaignNotFound")));
+                        }
+                    }
+                    logger.info("Campaign batch chunk updated. {} updated, {} rejected", updatedCount, chunk.size() - updatedCount);
+                    return results;
+                })
+                .onErrorResume(e -> {
+                    logger.error("Error occurred while updating campaign batch chunk", e);
+                    return Mono.just(failChunk(results, validIndexes, validCampaigns));
+                })
+                // Items that set the archive flag move to the cold tier once the chunk is written
+                .flatMap(chunkResults -> validCampaigns.stream().anyMatch(Campaign::isArchive)
+                        ? archiveFlagged().thenReturn(chunkResults)
+                        : Mono.just(chunkResults))
+                .flatMapMany(Flux::fromIterable);
+    }
+    private List<BatchItemResult> failChunk(List<BatchItemResult> results, List<Long> indexes, List<Campaign> campaigns) {
+        String errorMessage = env.getProperty("error.internalServerError");
+        for (int i = 0; i < indexes.size(); i++) {
+            Integer campaignId = campaigns == null ? null : campaigns.get(i).getCampaignId();
+            results.add(new BatchItemResult(indexes.get(i), campaignId, HttpStatus.INTERNAL_SERVER_ERROR.value(), errorMessage));
+        }
+        return results;
+    }
+    private ResponseEntity<ResponseMessage> batchResponse(List<BatchItemResult> results) {
+        results.sort(Comparator.comparingLong(BatchItemResult::getIndex));
+        long succeeded = results.stream().filter(result -> result.getCode() == HttpStatus.OK.value()).count();
+        logger.info("Campaign batch processed. {} of {} items succeeded", succeeded, results.size());
+        String message = env.getProperty("success.batchProcessed");
+        return new ResponseEntity<>(new ResponseMessage(HttpStatus.OK.value(), message, results), HttpStatus.OK);
+    }
+    // Returns the 400 message for an invalid batch item, or null when it can be written
+    private String batchValidationError(Campaign campaign) {
+        if (campaign == null) {
+            return env.getProperty("error.validationFailed") + ": " + env.getProperty("error.campaignRequired");
+        }
+        List<String> violations = campaignValidator.collectViolations(campaign);
+        return violations.isEmpty() ? null : validationMessage(violations);
+    }
+    private String validationMessage(List<String> violations) {
+        return env.getProperty("error.validationFailed") + ": " + String.join("; ", violations);
     }
     @Override
-    public Mono<ResponseEntity<ResponseMessage>> getAllCampaigns() {
+    public Mono<ResponseEntity<ResponseMessage>> getAllCampaigns(String ifNoneMatch, String accept, String fields) {
         logger.debug("Attempting to retrieve all campaigns");
-        return campaignRepository.findAll()
+        Set<CampaignField> projection = fields == null ? null : CampaignField.parse(fields);
+        if (fields != null && projection == null) {
+            return campaignMetrics.timed("getAllCampaigns", invalidFields(fields));
+        }
+        String etag = campaignChangeTracker.tableETag(projectionVariant(projection) + CampaignChangeTracker.encodingVariant(accept));
+        if (CampaignChangeTracker.matches(ifNoneMatch, etag)) {
+            // Nothing changed since the client's copy, skip the query and the serialization
+            logger.debug("Campaign list not modified, ETag {}", etag);
+            return campaignMetrics.timed("getAllCampaigns", Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).<ResponseMessage>build()));
+        }
+        // With fields= only the requested columns are selected, long descriptions never leave the database
+        Flux<?> campaigns = projection == null ? campaignRepository.findAll() : campaignRepository.findAllProjected(projection);
+        return campaignMetrics.timed("getAllCampaigns", campaigns
                 .collectList()
                 .flatMap(campaignList -> {
                     int code;
@@ -87,7 +319,15 @@ public class CampaignServiceImpl implements CampaignService{
                         message = env.getProperty("error.campaignsNotFound");
                         status = HttpStatus.NOT_FOUND;
                     }
-                    logger.info("All Campaigns successfully retrieved");
+                    if (logSampler.sample("getAllCampaigns")) {
+                        logger.info("All Campaigns successfully retrieved");
+                    }
+                    if (status == HttpStatus.OK && CampaignChangeTracker.wildcard(ifNoneMatch)) {
+                        return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).<ResponseMessage>build());
+                    }
+                    if (status == HttpStatus.OK) {
+                        return Mono.just(ResponseEntity.status(status).eTag(etag).body(new ResponseMessage(code, message, campaignList)));
+                    }
                     return Mono.just(new ResponseEntity<>(new ResponseMessage(code, message, campaignList), status));
                 })
                 .switchIfEmpty(Mono.just(new ResponseEntity<>(new ResponseMessage(HttpStatus.NOT_FOUND.value(), env.getProperty("error.campaignsNotFound"), null), HttpStatus.NOT_FOUND)))
@@ -97,69 +337,245 @@ public class CampaignServiceImpl implements CampaignService{
                     String errorMessage = env.getProperty("error.internalServerError");
                     HttpStatus status = HttpStatus.INTERNAL_SERVER_ERROR;
                     return Mono.just(new ResponseEntity<>(new ResponseMessage(code, errorMessage, null), status));
-                });
+                }));
     }
     @Override
-    public Mono<ResponseEntity<ResponseMessage>> getCampaign(int campaignId) {
+    public Flux<Campaign> streamAllCampaigns() {
+        logger.debug("Streaming all campaigns");
+        // Rows are written to the response as they arrive, nothing is buffered into a list
+        return campaignRepository.findAll()
+                .doOnError(e -> logger.error("Error occurred while streaming campaigns", e));
+    }
+    @Override
+    public Mono<ResponseEntity<ResponseMessage>> getCampaignPage(int afterId, int limit, String fields) {
+        logger.debug("Attempting to retrieve campaign page after ID: {} with limit: {}", afterId, limit);
+        if (limit < 1 || limit > maxPageLimit) {
+            int code = HttpStatus.BAD_REQUEST.value();
+            String errorMessage = env.getProperty("error.invalidPageLimit") + ": " + maxPageLimit;
+            logger.warn(errorMessage);
+            return campaignMetrics.timed("getCampaignPage", Mono.just(new ResponseEntity<>(new ResponseMessage(code, errorMessage, null), HttpStatus.BAD_REQUEST)));
+        }
+        Set<CampaignField> projection = fields == null ? null : CampaignField.parse(fields);
+        if (fields != null && projection == null) {
+            return campaignMetrics.timed("getCampaignPage", invalidFields(fields));
+        }
+        Flux<?> campaigns = projection == null ? campaignRepository.findPageAfter(afterId, limit)
+                : campaignRepository.findPageAfterProjected(projection, afterId, limit);
+        return campaignMetrics.timed("getCampaignPage", campaigns
+                .collectList()
+                .map(campaignList -> {
+                    // A full page means there may be more rows after the last id
+                    Integer nextAfterId = campaignList.size() == limit ? campaignIdOf(campaignList.get(campaignList.size() - 1)) : null;
+                    int code = HttpStatus.OK.value();
+                    String message = env.getProperty("success.campaignPageRetrieved");
+                    HttpStatus status = HttpStatus.OK;
+                    if (logSampler.sample("getCampaignPage")) {
+                        logger.info("Campaign page after ID {} retrieved with {} campaigns", afterId, campaignList.size());
+                    }
+                    return new ResponseEntity<>(new ResponseMessage(code, message, new CampaignPage(campaignList, nextAfterId)), status);
+                })
+                .onErrorResume(e -> {
+                    logger.error("Error occurred while retrieving campaign page after ID {}: {}", afterId, e.getMessage());
+                    int code = HttpStatus.INTERNAL_SERVER_ERROR.value();
+                    String errorMessage = env.getProperty("error.internalServerError");
+                    HttpStatus status = HttpStatus.INTERNAL_SERVER_ERROR;
+                    return Mono.just(new ResponseEntity<>(new ResponseMessage(code, errorMessage, null), status));
+                }));
+    }
+    @Override
+    public Mono<ResponseEntity<ResponseMessage>> search(CampaignSearchCriteria criteria) {
+        logger.debug("Attempting to search campaigns with {}", criteria);
+        if (criteria.getSort() == null || !CampaignSearchCriteria.SORTABLE_PROPERTIES.contains(criteria.getSortBy())
+                || criteria.getLimit() < 1 || criteria.getLimit() > maxPageLimit) {
+            int code = HttpStatus.BAD_REQUEST.value();
+            String errorMessage = env.getProperty("error.invalidSearchRequest") + ": " + String.join(", ", CampaignSearchCriteria.SORTABLE_PROPERTIES) + ", limit 1-" + maxPageLimit;
+            logger.warn(errorMessage);
+            return campaignMetrics.timed("search", Mono.just(new ResponseEntity<>(new ResponseMessage(code, errorMessage, null), HttpStatus.BAD_REQUEST)));
+        }
+        return campaignMetrics.timed("search", campaignRepository.search(criteria)
+                .collectList()
+                .map(campaignList -> {
+                    int code = HttpStatus.OK.value();
+                    String message = env.getProperty("success.campaignsRetrieved");
+                    HttpStatus status = HttpStatus.OK;
+                    if (logSampler.sample("search")) {
+                        logger.info("Campaign search returned {} campaigns", campaignList.size());
+                    }
+                    return new ResponseEntity<>(new ResponseMessage(code, message, campaignList), status);
+                })
+                .onErrorResume(e -> {
+                    logger.error("Error occurred while searching campaigns: {}", e.getMessage());
+                    int code = HttpStatus.INTERNAL_SERVER_ERROR.value();
+                    String errorMessage = env.getProperty("error.internalServerError");
+                    HttpStatus status = HttpStatus.INTERNAL_SERVER_ERROR;
+                    return Mono.just(new ResponseEntity<>(new ResponseMessage(code, errorMessage, null), status));
+                }));
+    }
+    @Override
+    public Mono<ResponseEntity<ResponseMessage>> getLiveCampaigns(Instant at) {
+        Instant instant = at == null ? Instant.now() : at;
+        logger.debug("Looking up campaigns live at {}", instant);
+        return campaignMetrics.timed("getLiveCampaigns", indexedCampaigns("getLiveCampaigns", () -> campaignIntervalIndex.liveAt(instant)));
+    }
+    @Override
+    public Mono<ResponseEntity<ResponseMessage>> getCampaignsStartingBetween(Instant from, Instant to) {
+        logger.debug("Looking up campaigns starting between {} and {}", from, to);
+        if (from.isAfter(to)) {
+            return campaignMetrics.timed("getCampaignsStartingBetween", invalidTimeWindow(from, to));
+        }
+        return campaignMetrics.timed("getCampaignsStartingBetween", indexedCampaigns("getCampaignsStartingBetween", () -> campaignIntervalIndex.startingBetween(from, to)));
+    }
+    @Override
+    public Mono<ResponseEntity<ResponseMessage>> getCampaignsEndingBetween(Instant from, Instant to) {
+        logger.debug("Looking up campaigns ending between {} and {}", from, to);
+        if (from.isAfter(to)) {
+            return campaignMetrics.timed("getCampaignsEndingBetween", invalidTimeWindow(from, to));
+        }
+        return campaignMetrics.timed("getCampaignsEndingBetween", indexedCampaigns("getCampaignsEndingBetween", () -> campaignIntervalIndex.endingBetween(from, to)));
+    }
+    private Mono<ResponseEntity<ResponseMessage>> indexedCampaigns(String operation, Supplier<List<Campaign>> lookup) {
+        if (!campaignIntervalIndex.isReady()) {
+            int code = HttpStatus.SERVICE_UNAVAILABLE.value();
+            String errorMessage = env.getProperty("error.intervalIndexNotReady");
+            logger.warn(errorMessage);
+            return Mono.just(new ResponseEntity<>(new ResponseMessage(code, errorMessage, null), HttpStatus.SERVICE_UNAVAILABLE));
+        }
+        List<Campaign> campaignList = lookup.get();
+        if (logSampler.sample(operation)) {
+            logger.info("Interval index returned {} campaigns for {}", campaignList.size(), operation);
+        }
+        String message = env.getProperty("success.campaignsRetrieved");
+        return Mono.just(new ResponseEntity<>(new ResponseMessage(HttpStatus.OK.value(), message, campaignList), HttpStatus.OK));
+    }
+    private Mono<ResponseEntity<ResponseMessage>> invalidTimeWindow(Instant from, Instant to) {
+        int code = HttpStatus.BAD_REQUEST.value();
+        String errorMessage = env.getProperty("error.invalidTimeWindow");
+        logger.warn("{}: {} - {}", errorMessage, from, to);
+        return Mono.just(new ResponseEntity<>(new ResponseMessage(code, errorMessage, null), HttpStatus.BAD_REQUEST));
+    }
+    private Mono<ResponseEntity<ResponseMessage>> invalidFields(String fields) {
+        int code = HttpStatus.BAD_REQUEST.value();
+        String errorMessage = env.getProperty("error.invalidFields") + ": " + Arrays.stream(CampaignField.values())
+                .map(CampaignField::getProperty).collect(Collectors.joining(", "));
+        logger.warn("{} (requested {})", errorMessage, fields);
+        return Mono.just(new ResponseEntity<>(new ResponseMessage(code, errorMessage, null), HttpStatus.BAD_REQUEST));
+    }
+    private static String projectionVariant(Set<CampaignField> projection) {
+        return projection == null ? "" : "~" + CampaignField.key(projection);
+    }
+    // Whatever follows the id.version.flag row part
+    private static String variantOf(String rowTag) {
+        int flag = rowTag.indexOf('.', rowTag.indexOf('.') + 1) + 1;
+        return flag == 0 || flag >= rowTag.length() ? "" : rowTag.substring(flag + 1);
+    }
+    private static Integer campaignIdOf(Object row) {
+        return row instanceof Campaign campaign ? campaign.getCampaignId() : (Integer) ((Map<?, ?>) row).get(CampaignField.CAMPAIGN_ID.getProperty());
+    }
+    @Override
+    public Mono<ResponseEntity<ResponseMessage>> getCampaign(int campaignId, String ifNoneMatch, String accept, String fields) {
         logger.debug("Attempting to retrieve campaign with ID: {} ", campaignId);
-        return campaignRepository.findByCampaignId(campaignId)
+        Set<CampaignField> projection = fields == null ? null : CampaignField.parse(fields);
+        if (fields != null && projection == null) {
+            return campaignMetrics.timed("getCampaign", invalidFields(fields));
+        }
+        String variant = projectionVariant(projection) + CampaignChangeTracker.encodingVariant(accept);
+        String tableTag = campaignChangeTracker.tableTag();
+        String clientRowTag = CampaignChangeTracker.rowTagOf(ifNoneMatch);
+        if (clientRowTag != null && clientRowTag.startsWith(campaignId + ".") && variantOf(clientRowTag).equals(variant)
+                && ifNoneMatch.trim().endsWith("@" + tableTag + "\"")) {
+            // No campaign changed since the client's copy was tagged, answer without reading the row
+            return campaignMetrics.timed("getCampaign", Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ifNoneMatch.trim()).<ResponseMessage>build()));
+        }
+        return campaignMetrics.timed("getCampaign", campaignCache.get(campaignId)
                 .map(campaign -> {
+                    String etag = CampaignChangeTracker.rowETag(campaign, variant, tableTag);
+                    if ((CampaignChangeTracker.rowTag(campaign) + variant).equals(clientRowTag) || CampaignChangeTracker.wildcard(ifNoneMatch)) {
+                        // Other rows changed but this one did not (or any copy will do), re-tag without re-serializing
+                        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).<ResponseMessage>build();
+                    }
                     int code = HttpStatus.OK.value();
                     String message = env.getProperty("success.campaignRetrieved");
                     HttpStatus status = HttpStatus.OK;
-                    logger.info("Campaign {} retrieved successfully.", campaignId);
-                    return new ResponseEntity<>(new ResponseMessage(code, message, campaign), status);
+                    if (logSampler.sample("getCampaign")) {
+                        logger.info("Campaign {} retrieved successfully.", campaignId);
+                    }
+                    // A single row is served from the cache, so fields= only trims what is serialized
+                    Object data = projection == null ? campaign : CampaignField.project(campaign, projection);
+                    return ResponseEntity.status(status).eTag(etag).body(new ResponseMessage(code, message, data));
                 })
                 .defaultIfEmpty(new ResponseEntity<>(new ResponseMessage(HttpStatus.NOT_FOUND.value(), env.getProperty("error.campaignNotFound"), null), HttpStatus.NOT_FOUND))
+                .onErrorResume(ConcurrencyLimiter.RejectedException.class, e -> {
+                    // The cache miss could not get a database permit in time, shed it like the admission filter does
+                    logger.warn("Shedding lookup of campaign {}: {}", campaignId, e.getMessage());
+                    return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                            .header(HttpHeaders.RETRY_AFTER, Long.toString(e.getRetryAfterSeconds()))
+                            .body(new ResponseMessage(HttpStatus.SERVICE_UNAVAILABLE.value(), env.getProperty("error.overloaded"), null)));
+                })
                 .onErrorResume(e -> {
                     logger.error("Error occurred while retrieving campaign with ID {}: {}", campaignId, e.getMessage());
                     int code = HttpStatus.INTERNAL_SERVER_ERROR.value();
                     String errorMessage = env.getProperty("error.internalServerError");
                     HttpStatus status = HttpStatus.INTERNAL_SERVER_ERROR;
                     return Mono.just(new ResponseEntity<>(new ResponseMessage(code, errorMessage, null), status));
-                });
+                }));
     }
     @Override
     public Mono<ResponseEntity<ResponseMessage>> update(int campaignId, CampaignDto updatedCampaignDto) {
         logger.debug("Updating campaign with ID: {}", campaignId);
         Campaign campaign = campaignMapper.convertToEntity(updatedCampaignDto);
-        return campaignRepository.findByCampaignId(campaignId)
-                .flatMap(existingCampaign -> {
-                    // Validate updated campaign
-                    try {
-                        campaignValidator.validate(campaign); // Validate general campaign constraints
-                        campaignValidator.validateCampaignDates(campaign); // Validate campaign dates
-                        campaignValidator.validateActivityStatus(campaign); // Validate activity status
-                        logger.debug("Campaign validation successful for update");
-                    } catch (IllegalArgumentException e) {
-                        // Return BAD_REQUEST response if validation fails
-                        int code = HttpStatus.BAD_REQUEST.value();
-                        String errorMessage = env.getProperty("error.validationFailed") + ": " + e.getMessage();
-                        logger.warn(errorMessage);
-                        return Mono.just(new ResponseEntity<>(new ResponseMessage(code, errorMessage, null), HttpStatus.BAD_REQUEST));
+        // Validate updated campaign
+        List<String> violations = campaignValidator.collectViolations(campaign); // Validate campaign constraints and dates
+        if (!violations.isEmpty()) {
+            // Return BAD_REQUEST response if validation fails
+            int code = HttpStatus.BAD_REQUEST.value();
+            String errorMessage = validationMessage(violations);
+            logger.warn(errorMessage);
+            return campaignMetrics.timed("update", Mono.just(new ResponseEntity<>(new ResponseMessage(code, errorMessage, violations), HttpStatus.BAD_REQUEST)));
+        }
+        campaignValidator.validateActivityStatus(campaign); // Validate activity status
+        logger.debug("Campaign validation successful for update");
+        campaign.setCampaignId(campaignId);
+        // One conditional UPDATE, guarded by the version when the client sent one
+        return campaignMetrics.timed("update", campaignRepository.updateCampaign(campaign)
+                // Setting the archive flag moves the campaign to the cold tier right away
+                .flatMap(outcome -> outcome == UpdateOutcome.UPDATED && campaign.isArchive()
+                        ? campaignArchiveRepository.archive(campaignId).thenReturn(outcome)
+                        : Mono.just(outcome))
+                .map(outcome -> {
+                    int code;
+                    String message;
+                    HttpStatus status;
+                    switch (outcome) {
+                        case UPDATED -> {
+                            if (campaign.isArchive()) {
+                                onCampaignArchived(campaignId);
+                            } else {
+                                onCampaignUpdated(campaign);
+                                scheduleActivationAt(campaign.getStartDate());
+                            }
+                            code = HttpStatus.OK.value();
+                            message = env.getProperty("success.campaignUpdated");
+                            status = HttpStatus.OK;
+                            if (logSampler.sample("update")) {
+                                logger.info("Campaign updated successfully. ID: {}", campaignId);
+                            }
+                            return new ResponseEntity<>(new ResponseMessage(code, message, campaign), status);
+                        }
+                        case CONFLICT -> {
+                            code = HttpStatus.CONFLICT.value();
+                            message = env.getProperty("error.campaignVersionConflict");
+                            status = HttpStatus.CONFLICT;
+                            logger.warn("Campaign with ID {} was modified concurrently, expected version {}", campaignId, campaign.getVersion());
+                        }
+                        default -> {
+                            code = HttpStatus.NOT_FOUND.value();
+                            message = env.getProperty("error.campaignNotFound");
+                            status = HttpStatus.NOT_FOUND;
+                            logger.warn("Campaign with ID {} not found", campaignId);
+                        }
                     }
-                    // Update campaign attributes
-                    existingCampaign.setCampaignName(campaign.getCampaignName());
-                    existingCampaign.setCampaignDescription(campaign.getCampaignDescription());
-                    existingCampaign.setShortName(campaign.getShortName());
-                    existingCampaign.setStartDate(campaign.getStartDate());
-                    existingCampaign.setEndDate(campaign.getEndDate());
-                    existingCampaign.setMaxAttempts(campaign.getMaxAttempts());
-                    existingCampaign.setPassPercentage(campaign.getPassPercentage());
-                    existingCampaign.setActive(campaign.isActive());
-                    existingCampaign.setArchive(campaign.isArchive());
-                    // Save the updated campaign
-
-                    return campaignRepository.save(existingCampaign)
-                            .map(updated -> {
-                                int code = HttpStatus.OK.value();
-                                String message = env.getProperty("success.campaignUpdated");
-                                HttpStatus status = HttpStatus.OK;
-                                logger.info("Campaign updated successfully. ID: {}", existingCampaign.getCampaignId());
-                                return new ResponseEntity<>(new ResponseMessage(code, message, existingCampaign), status);
-                            });
+                    return new ResponseEntity<>(new ResponseMessage(code, message, null), status);
                 })
-                .defaultIfEmpty(new ResponseEntity<>(new ResponseMessage(HttpStatus.NOT_FOUND.value(), env.getProperty("error.campaignNotFound"), null), HttpStatus.NOT_FOUND))
                 .onErrorResume(e -> {
                     // Return INTERNAL_SERVER_ERROR response if an error occurs
                     int code = HttpStatus.INTERNAL_SERVER_ERROR.value();
@@ -167,30 +583,31 @@ public class CampaignServiceImpl implements CampaignService{
                     HttpStatus status = HttpStatus.INTERNAL_SERVER_ERROR;
                     logger.error("Error occurred while updating campaign with ID {}: {}", campaignId, e.getMessage());
                     return Mono.just(new ResponseEntity<>(new ResponseMessage(code, errorMessage, null), status));
-                });
+                }));
     }
     @Override
     public Mono<ResponseEntity<ResponseMessage>> deleteById(int campaignId) {
         logger.debug("Attempting to delete campaign with ID: {}", campaignId);
-        return campaignRepository.existsByCampaignId(campaignId)
-                .flatMap(exists -> {
+        return campaignMetrics.timed("deleteById", campaignRepository.deleteByCampaignId(campaignId)
+                .map(deletedRows -> {
                     int code;
                     String message;
                     HttpStatus status;
-                    if (exists) {
+                    if (deletedRows > 0) {
+                        onCampaignDeleted(campaignId);
                         code = HttpStatus.OK.value();
                         message = env.getProperty("success.campaignDeleted");
                         status = HttpStatus.OK;
-                        return campaignRepository.deleteByCampaignId(campaignId)
-                                .then(Mono.just(new ResponseEntity<>(new ResponseMessage(code, message, null), status)))
-                                .doOnSuccess(success -> logger.info("Campaign with ID {} deleted successfully", campaignId));
+                        if (logSampler.sample("deleteById")) {
+                            logger.info("Campaign with ID {} deleted successfully", campaignId);
+                        }
                     } else {
                         code = HttpStatus.NOT_FOUND.value();
                         message = env.getProperty("error.campaignNotFound");
                         status = HttpStatus.NOT_FOUND;
                         logger.warn("Campaign with ID {} not found", campaignId);
-                        return Mono.just(new ResponseEntity<>(new ResponseMessage(code, message, null), status));
                     }
+                    return new ResponseEntity<>(new ResponseMessage(code, message, null), status);
                 })
                 .onErrorResume(e -> {
                     logger.error("Error occurred while deleting campaign with ID {}: {}", campaignId, e.getMessage());
@@ -198,68 +615,338 @@ public class CampaignServiceImpl implements CampaignService{
                     String errorMessage = env.getProperty("error.internalServerError");
                     HttpStatus status = HttpStatus.INTERNAL_SERVER_ERROR;
                     return Mono.just(new ResponseEntity<>(new ResponseMessage(code, errorMessage, null), status));
-                });
+                }));
     }
     @Override
     public Mono<ResponseEntity<ResponseMessage>> deleteByName(String campaignName) {
         logger.debug("Attempting to delete campaign by name: {}", campaignName);
-        return campaignRepository.existsByCampaignName(campaignName)
-                .flatMap(exists -> {
+        return campaignMetrics.timed("deleteByName", campaignRepository.deleteByCampaignName(campaignName)
+                .map(deletedRows -> {
                     int code;
                     String message;
                     HttpStatus status;
-                    if (exists) {
+                    if (deletedRows > 0) {
+                        onCampaignDeletedByName(campaignName);
                         code = HttpStatus.OK.value();
                         message = env.getProperty("success.campaignDeleted");
                         status = HttpStatus.OK;
-                        logger.info("Campaign deleted successfully.");
-                        return campaignRepository.deleteByCampaignName(campaignName)
-                                .then(Mono.just(new ResponseEntity<>(new ResponseMessage(code, message, null), status)))
-                                .doOnSuccess(success -> logger.info("Campaign with name '{}' deleted successfully", campaignName));
+                        if (logSampler.sample("deleteByName")) {
+                            logger.info("Campaign with name '{}' deleted successfully", campaignName);
+                        }
                     } else {
                         code = HttpStatus.NOT_FOUND.value();
                         message = env.getProperty("error.campaignNotFound");
                         status = HttpStatus.NOT_FOUND;
                         logger.warn("Campaign with name '{}' not found", campaignName);
-                        return Mono.just(new ResponseEntity<>(new ResponseMessage(code, message, null), status));
                     }
+                    return new ResponseEntity<>(new ResponseMessage(code, message, null), status);
                 })
-                .defaultIfEmpty(new ResponseEntity<>(new ResponseMessage(404, env.getProperty("error.campaignNotFound"), null), HttpStatus.NOT_FOUND))
                 .onErrorResume(e -> {
                     logger.error("Error occurred while deleting campaign by name '{}': {}", campaignName, e.getMessage());
                     int code = HttpStatus.INTERNAL_SERVER_ERROR.value();
                     String errorMessage = env.getProperty("error.internalServerError");
                     HttpStatus status = HttpStatus.INTERNAL_SERVER_ERROR;
                     return Mono.just(new ResponseEntity<>(new ResponseMessage(code, errorMessage, null), status));
-                });
+                }));
     }
 
-    @Scheduled(fixedRate = 3600000) // Run every hour
+    // Safety net only, the exact next start/end transition is scheduled after every run
+    @Scheduled(fixedRateString = "${campaign.activation.fallback-rate:3600000}")
     public void scheduleCampaignActivation() {
-        campaignRepository.findAll()
-                .flatMap(campaign -> {
-                    try {
-                        Instant currentDate = Instant.now();
-                        boolean isActive = currentDate.isAfter(campaign.getStartDate()) && currentDate.isBefore(campaign.getEndDate());
-                        campaign.setActive(isActive);
-                        logger.info("Updated activity status of " + campaign.getCampaignName());
-                    } catch (Exception e) {
-                        logger.warn("An unexpected error occurred while processing campaign: " + campaign.getCampaignName() + ", Error: " + e.getMessage());
+        Instant now = Instant.now();
+        if (!activationLease.isLeader()) {
+            refreshActivationFromLeader(now);
+            return;
+        }
+        long startNanos = System.nanoTime();
+        // Rows archived by a flag alone (older data, creates) leave the hot table before activation scans it
+        archiveFlagged()
+                .then(campaignRepository.activateStarted(now))
+                .flatMap(activated -> campaignRepository.deactivateOutsideWindow(now)
+                        .map(deactivated -> {
+                            if (activated + deactivated > 0) {
+                                campaignCache.invalidateAll();
+                                campaignChangeTracker.markChanged();
+                                if (!campaignIntervalIndex.isReady()) {
+                                    campaignChangeFeed.activationRun(activated, deactivated);
+                                    // Without the index the flipped campaigns are unknown, recount instead
+                                    campaignStatistics.reconcile().subscribe(null, e -> logger.error("Error occurred while reconciling campaign statistics", e));
+                                }
+                            }
+                            campaignMetrics.recordActivation(Duration.ofNanos(System.nanoTime() - startNanos), activated, deactivated);
+                            logger.info("Campaign activation run: {} activated, {} deactivated", activated, deactivated);
+                            return activated + deactivated;
+                        }))
+                // Indexed rows carry the isActive flag, apply the same rule to them instead of reloading the table
+                .doOnNext(changed -> {
+                    if (campaignIntervalIndex.isReady()) {
+                        applyIndexedActivation(now);
+                    }
+                })
+                .then(findNextActivationTransition(now))
+                .subscribe(this::scheduleActivationAt,
+                        e -> logger.error("Error occurred while updating campaign activation status", e));
+    }
+
+    private Mono<Void> archiveFlagged() {
+        return campaignArchiveRepository.archiveFlagged()
+                .doOnNext(campaignIds -> {
+                    campaignIds.forEach(this::onCampaignArchived);
+                    if (!campaignIds.isEmpty()) {
+                        logger.info("Moved {} flagged campaigns to the archive", campaignIds.size());
                     }
-                    return Mono.just(campaign);
                 })
+                .onErrorResume(e -> {
+                    logger.error("Error occurred while moving flagged campaigns to the archive", e);
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    // Followers do not write; once the leader has flipped the rows they derive the same flips from their own index
+    private void refreshActivationFromLeader(Instant now) {
+        Mono.delay(followerDelay)
+                .map(tick -> campaignIntervalIndex.isReady() ? applyIndexedActivation(now) : 0)
+                .doOnNext(flipped -> {
+                    if (flipped > 0) {
+                        campaignCache.invalidateAll();
+                        campaignChangeTracker.markChanged();
+                    }
+                    logger.debug("Campaign activation left to the lease holder, {} campaigns flipped", flipped);
+                })
+                .then(findNextActivationTransition(now))
+                .subscribe(this::scheduleActivationAt,
+                        e -> logger.error("Error occurred while refreshing campaign activation status", e));
+    }
+
+    // Every flipped campaign gets its own feed event
+    private int applyIndexedActivation(Instant now) {
+        List<Campaign> flipped = campaignIntervalIndex.applyActivation(now);
+        for (Campaign campaign : flipped) {
+            campaignChangeFeed.activationChanged(campaign);
+            campaignStatistics.put(campaign);
+        }
+        return flipped.size();
+    }
+
+    // From the index when it is loaded, the repository only covers the window before that
+    private Mono<Instant> findNextActivationTransition(Instant now) {
+        return Mono.defer(() -> {
+            if (campaignIntervalIndex.isReady()) {
+                return Mono.justOrEmpty(campaignIntervalIndex.nextTransitionAfter(now));
+            }
+            return Flux.merge(
+                            campaignRepository.findFirstByStartDateAfterOrderByStartDateAsc(now).map(Campaign::getStartDate),
+                            campaignRepository.findFirstByEndDateAfterOrderByEndDateAsc(now).map(Campaign::getEndDate))
+                    .reduce((first, second) -> first.isBefore(second) ? first : second);
+        });
+    }
+
+    private synchronized void scheduleActivationAt(Instant transition) {
+        // Keep a pending run that already fires at or before this transition
+        if (nextActivation != null && !nextActivation.isDone() && !transition.isBefore(nextActivationAt)) {
+            return;
+        }
+        if (nextActivation != null) {
+            nextActivation.cancel(false);
+        }
+        // Statuses flip strictly after the boundary, see CampaignValidator.validateActivityStatus
+        nextActivationAt = transition;
+        nextActivation = taskScheduler.schedule(this::scheduleCampaignActivation, transition.plusMillis(1));
+        logger.debug("Next campaign activation scheduled at {}", transition);
+    }
+
+    @Override
+    public Mono<ResponseEntity<ResponseMessage>> archive(int campaignId) {
+        logger.debug("Attempting to archive campaign with ID: {}", campaignId);
+        return campaignMetrics.timed("archive", campaignArchiveRepository.archive(campaignId)
+                .map(archived -> {
+                    int code;
+                    String message;
+                    HttpStatus status;
+                    if (archived) {
+                        onCampaignArchived(campaignId);
+                        code = HttpStatus.OK.value();
+                        message = env.getProperty("success.campaignArchived");
+                        status = HttpStatus.OK;
+                        if (logSampler.sample("archive")) {
+                            logger.info("Campaign with ID {} moved to the archive", campaignId);
+                        }
+                    } else {
+                        code = HttpStatus.NOT_FOUND.value();
+                        message = env.getProperty("error.campaignNotFound");
+                        status = HttpStatus.NOT_FOUND;
+                        logger.warn("Campaign with ID {} not found", campaignId);
+                    }
+                    return new ResponseEntity<>(new ResponseMessage(code, message, null), status);
+                })
+                .onErrorResume(e -> {
+                    logger.error("Error occurred while archiving campaign with ID {}: {}", campaignId, e.getMessage());
+                    int code = HttpStatus.INTERNAL_SERVER_ERROR.value();
+                    String errorMessage = env.getProperty("error.internalServerError");
+                    HttpStatus status = HttpStatus.INTERNAL_SERVER_ERROR;
+                    return Mono.just(new ResponseEntity<>(new ResponseMessage(code, errorMessage, null), status));
+                }));
+    }
+    @Override
+    public Mono<ResponseEntity<ResponseMessage>> restore(int campaignId) {
+        logger.debug("Attempting to restore archived campaign with ID: {}", campaignId);
+        return campaignMetrics.timed("restore", campaignArchiveRepository.restore(campaignId, campaign -> {
+                    campaign.setArchive(false);
+                    campaignValidator.validateActivityStatus(campaign);
+                    return campaign;
+                })
+                .map(campaign -> {
+                    onCampaignRestored(campaign);
+                    int code = HttpStatus.OK.value();
+                    String message = env.getProperty("success.campaignRestored");
+                    HttpStatus status = HttpStatus.OK;
+                    if (logSampler.sample("restore")) {
+                        logger.info("Campaign with ID {} restored from the archive", campaignId);
+                    }
+                    return new ResponseEntity<>(new ResponseMessage(code, message, campaign), status);
+                })
+                .defaultIfEmpty(new ResponseEntity<>(new ResponseMessage(HttpStatus.NOT_FOUND.value(), env.getProperty("error.archivedCampaignNotFound"), null), HttpStatus.NOT_FOUND))
+                .onErrorResume(e -> {
+                    logger.error("Error occurred while restoring campaign with ID {}: {}", campaignId, e.getMessage());
+                    int code = HttpStatus.INTERNAL_SERVER_ERROR.value();
+                    String errorMessage = env.getProperty("error.internalServerError");
+                    HttpStatus status = HttpStatus.INTERNAL_SERVER_ERROR;
+                    return Mono.just(new ResponseEntity<>(new ResponseMessage(code, errorMessage, null), status));
+                }));
+    }
+    @Override
+    public Mono<ResponseEntity<ResponseMessage>> getArchivedCampaign(int campaignId) {
+        logger.debug("Attempting to retrieve archived campaign with ID: {}", campaignId);
+        return campaignMetrics.timed("getArchivedCampaign", campaignArchiveRepository.findById(campaignId)
+                .map(campaign -> {
+                    int code = HttpStatus.OK.value();
+                    String message = env.getProperty("success.campaignRetrieved");
+                    HttpStatus status = HttpStatus.OK;
+                    return new ResponseEntity<>(new ResponseMessage(code, message, campaign), status);
+                })
+                .defaultIfEmpty(new ResponseEntity<>(new ResponseMessage(HttpStatus.NOT_FOUND.value(), env.getProperty("error.archivedCampaignNotFound"), null), HttpStatus.NOT_FOUND))
+                .onErrorResume(e -> {
+                    logger.error("Error occurred while retrieving archived campaign with ID {}: {}", campaignId, e.getMessage());
+                    int code = HttpStatus.INTERNAL_SERVER_ERROR.value();
+                    String errorMessage = env.getProperty("error.internalServerError");
+                    HttpStatus status = HttpStatus.INTERNAL_SERVER_ERROR;
+                    return Mono.just(new ResponseEntity<>(new ResponseMessage(code, errorMessage, null), status));
+                }));
+    }
+    @Override
+    public Mono<ResponseEntity<ResponseMessage>> getArchivedPage(int afterId, int limit) {
+        logger.debug("Attempting to retrieve archived campaign page after ID: {} with limit: {}", afterId, limit);
+        if (limit < 1 || limit > maxPageLimit) {
+            int code = HttpStatus.BAD_REQUEST.value();
+            String errorMessage = env.getProperty("error.invalidPageLimit") + ": " + maxPageLimit;
+            logger.warn(errorMessage);
+            return campaignMetrics.timed("getArchivedPage", Mono.just(new ResponseEntity<>(new ResponseMessage(code, errorMessage, null), HttpStatus.BAD_REQUEST)));
+        }
+        return campaignMetrics.timed("getArchivedPage", campaignArchiveRepository.findPageAfter(afterId, limit)
                 .collectList()
-                .flatMapMany(campaigns -> {
-                    // Save all campaigns in one batch
-                    return Flux.fromIterable(campaigns)
-                            .flatMap(campaignRepository::save)
-                            .onErrorResume(error -> {
-                                logger.error("Error occurred while saving campaigns: " + error.getMessage());
-                                return Mono.empty(); // Return an empty Mono to continue processing other campaigns
-                            });
+                .map(campaignList -> {
+                    Integer nextAfterId = campaignList.size() == limit ? campaignList.get(campaignList.size() - 1).getCampaignId() : null;
+                    int code = HttpStatus.OK.value();
+                    String message = env.getProperty("success.archivedCampaignsRetrieved");
+                    HttpStatus status = HttpStatus.OK;
+                    return new ResponseEntity<>(new ResponseMessage(code, message, new CampaignPage(campaignList, nextAfterId)), status);
                 })
-                .subscribe(savedCampaign -> {
-                    logger.info("Campaign " + savedCampaign.getCampaignName() + " updated");
-                });
+                .onErrorResume(e -> {
+                    logger.error("Error occurred while retrieving archived campaign page", e);
+                    int code = HttpStatus.INTERNAL_SERVER_ERROR.value();
+                    String errorMessage = env.getProperty("error.internalServerError");
+                    HttpStatus status = HttpStatus.INTERNAL_SERVER_ERROR;
+                    return Mono.just(new ResponseEntity<>(new ResponseMessage(code, errorMessage, null), status));
+                }));
+    }
+
+    @Override
+    public Flux<ServerSentEvent<CampaignChangeEvent>> streamChanges(String lastEventId) {
+        logger.debug("Change feed subscriber connected after event {}", lastEventId);
+        Flux<ServerSentEvent<CampaignChangeEvent>> events = campaignChangeFeed.subscribe(lastEventId)
+                .map(event -> ServerSentEvent.builder(event)
+                        .id(event.getId())
+                        .event(event.getType().name())
+                        .build());
+        // Comment-only heartbeats keep idle connections open through proxies
+        Flux<ServerSentEvent<CampaignChangeEvent>> heartbeats = Flux.interval(feedHeartbeat)
+                .map(tick -> ServerSentEvent.<CampaignChangeEvent>builder().comment("heartbeat").build());
+        return Flux.merge(events, heartbeats)
+                .doOnError(e -> logger.warn("Change feed subscriber disconnected: {}", e.getMessage()));
+    }
+
+    @Override
+    public Mono<ResponseEntity<ResponseMessage>> getCacheStats() {
+        int code = HttpStatus.OK.value();
+        String message = env.getProperty("success.cacheStatsRetrieved");
+        return Mono.just(new ResponseEntity<>(new ResponseMessage(code, message, campaignCache.stats()), HttpStatus.OK));
+    }
+
+    @Override
+    public Mono<ResponseEntity<ResponseMessage>> getStatistics() {
+        if (!campaignStatistics.isReady()) {
+            int code = HttpStatus.SERVICE_UNAVAILABLE.value();
+            String errorMessage = env.getProperty("error.statisticsNotReady");
+            logger.warn(errorMessage);
+            return Mono.just(new ResponseEntity<>(new ResponseMessage(code, errorMessage, null), HttpStatus.SERVICE_UNAVAILABLE));
+        }
+        int code = HttpStatus.OK.value();
+        String message = env.getProperty("success.statisticsRetrieved");
+        return Mono.just(new ResponseEntity<>(new ResponseMessage(code, message, campaignStatistics.snapshot()), HttpStatus.OK));
+    }
+
+    private void onCampaignCreated(Campaign campaign) {
+        campaignIntervalIndex.put(campaign);
+        campaignStatistics.put(campaign);
+        campaignChangeTracker.markChanged();
+        campaignChangeFeed.created(campaign);
+    }
+
+    private void onCampaignsCreated(List<Campaign> campaigns) {
+        campaignIntervalIndex.putAll(campaigns);
+        campaignStatistics.putAll(campaigns);
+        campaignChangeTracker.markChanged();
+        campaigns.forEach(campaignChangeFeed::created);
+    }
+
+    private void onCampaignUpdated(Campaign campaign) {
+        campaignCache.invalidate(campaign.getCampaignId());
+        campaignIntervalIndex.put(campaign);
+        campaignStatistics.put(campaign);
+        campaignChangeTracker.markChanged();
+        campaignChangeFeed.updated(campaign);
+    }
+
+    private void onCampaignDeleted(int campaignId) {
+        campaignCache.invalidate(campaignId);
+        campaignIntervalIndex.remove(campaignId);
+        campaignStatistics.remove(campaignId);
+        campaignChangeTracker.markChanged();
+        campaignChangeFeed.deleted(campaignId, null);
+    }
+
+    private void onCampaignArchived(int campaignId) {
+        campaignCache.invalidate(campaignId);
+        campaignIntervalIndex.remove(campaignId);
+        campaignStatistics.archived(campaignId);
+        campaignChangeTracker.markChanged();
+        campaignChangeFeed.archived(campaignId);
+    }
+
+    private void onCampaignRestored(Campaign campaign) {
+        campaignIntervalIndex.put(campaign);
+        campaignStatistics.restored(campaign);
+        campaignChangeTracker.markChanged();
+        campaignChangeFeed.restored(campaign);
+        scheduleActivationAt(campaign.getStartDate());
+    }
+
+    private void onCampaignDeletedByName(String campaignName) {
+        campaignCache.invalidateByName(campaignName);
+        campaignIntervalIndex.removeByName(campaignName);
+        campaignStatistics.removeByName(campaignName);
+        campaignChangeTracker.markChanged();
+        campaignChangeFeed.deleted(null, campaignName);
     }
 }
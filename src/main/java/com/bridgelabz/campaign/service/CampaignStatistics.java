@@ -0,0 +1,273 @@
+package com.bridgelabz.campaign.service;
+
+import com.bridgelabz.campaign.model.Campaign;
+import com.bridgelabz.campaign.model.CampaignField;
+import com.bridgelabz.campaign.repository.CampaignArchiveRepository;
+import com.bridgelabz.campaign.repository.CampaignRepository;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Campaign counters for dashboards: active, upcoming, expired and archived campaigns, plus
+ * breakdowns by maxAttempts and passPercentage buckets.
+ * <p>
+ * Counters are adjusted by the service's mutation hooks and by activation runs, and published as
+ * an immutable snapshot, so a read never touches the table. A periodic recount from the database
+ * corrects anything the hooks cannot see, such as writes made through another instance.
+ */
+@Component
+public class CampaignStatistics {
+
+    private static final Logger logger = LogManager.getLogger(CampaignStatistics.class);
+    // Only the columns the counters need, see CampaignRepository.findAllProjected
+    private static final Set<CampaignField> COUNTED_FIELDS = EnumSet.of(CampaignField.CAMPAIGN_ID, CampaignField.CAMPAIGN_NAME,
+            CampaignField.END_DATE, CampaignField.MAX_ATTEMPTS, CampaignField.PASS_PERCENTAGE, CampaignField.ACTIVE);
+    private static final String[] ATTEMPT_BUCKETS = {"1", "2", "3", "4-5", "6-10", "11+"};
+    private static final String[] PASS_BUCKETS = {"0-49", "50-59", "60-69", "70-79", "80-89", "90-100"};
+
+    private enum Status { ACTIVE, UPCOMING, EXPIRED }
+
+    // What one campaign contributes to the counters, kept so an update or delete can take it back
+    private record Tally(String campaignName, Status status, int attemptBucket, int passBucket) {
+    }
+
+    private final CampaignRepository campaignRepository;
+    private final CampaignArchiveRepository campaignArchiveRepository;
+    private final Map<Integer, Tally> tallies = new HashMap<>();
+    private final long[] statusCounts = new long[Status.values().length];
+    private final long[] attemptCounts = new long[ATTEMPT_BUCKETS.length + 1];
+    private final long[] passCounts = new long[PASS_BUCKETS.length + 1];
+    private long archivedCount;
+    private Instant reconciledAt;
+    private volatile Map<String, Object> snapshot;
+    // Mutations seen while a recount is in flight, replayed on top of the counted rows
+    private List<Consumer<CampaignStatistics>> pendingMutations;
+    private Mono<Void> reconcileInFlight;
+
+    @Autowired
+    public CampaignStatistics(CampaignRepository campaignRepository, CampaignArchiveRepository campaignArchiveRepository) {
+        this.campaignRepository = campaignRepository;
+        this.campaignArchiveRepository = campaignArchiveRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        reconcile().subscribe(null, e -> logger.error("Error occurred while counting campaign statistics", e));
+    }
+
+    @Scheduled(fixedRateString = "${campaign.stats.reconcile-interval:PT5M}", initialDelayString = "${campaign.stats.reconcile-interval:PT5M}")
+    public void scheduledReconcile() {
+        reconcile().subscribe(null, e -> logger.error("Error occurred while reconciling campaign statistics", e));
+    }
+
+    // One recount at a time, a caller arriving while one runs waits for that one instead of starting its own
+    public Mono<Void> reconcile() {
+        return Mono.defer(() -> {
+            synchronized (this) {
+                if (reconcileInFlight == null) {
+                    reconcileInFlight = recount()
+                            .doFinally(signal -> {
+                                synchronized (this) {
+                                    reconcileInFlight = null;
+                                }
+                            })
+                            .cache();
+                }
+                return reconcileInFlight;
+            }
+        });
+    }
+
+    private Mono<Void> recount() {
+        return Mono.defer(() -> {
+                    synchronized (this) {
+                        pendingMutations = new ArrayList<>();
+                    }
+                    return campaignRepository.findAllProjected(COUNTED_FIELDS).collectList()
+                            .zipWith(campaignArchiveRepository.count());
+                })
+                .doOnNext(counted -> {
+                    Instant now = Instant.now();
+                    synchronized (this) {
+                        clear();
+                        for (Map<String, Object> row : counted.getT1()) {
+                            add((Integer) row.get(CampaignField.CAMPAIGN_ID.getProperty()), tally(
+                                    (String) row.get(CampaignField.CAMPAIGN_NAME.getProperty()),
+                                    (Instant) row.get(CampaignField.END_DATE.getProperty()),
+                                    (Integer) row.get(CampaignField.MAX_ATTEMPTS.getProperty()),
+                                    (Integer) row.get(CampaignField.PASS_PERCENTAGE.getProperty()),
+                                    Boolean.TRUE.equals(row.get(CampaignField.ACTIVE.getProperty())), now));
+                        }
+                        archivedCount = counted.getT2();
+                        reconciledAt = now;
+                        List<Consumer<CampaignStatistics>> replay = pendingMutations;
+                        pendingMutations = null;
+                        replay.forEach(mutation -> mutation.accept(this));
+                        publish();
+                    }
+                    logger.info("Campaign statistics counted over {} campaigns and {} archived", counted.getT1().size(), counted.getT2());
+                })
+                .doOnError(e -> {
+                    synchronized (this) {
+                        pendingMutations = null;
+                    }
+                })
+                .then();
+    }
+
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    public Map<String, Object> snapshot() {
+        return snapshot;
+    }
+
+    // Created, updated, restored or flipped by an activation run; the status is taken as of now
+    public void put(Campaign campaign) {
+        Tally tally = tally(campaign.getCampaignName(), campaign.getEndDate(),
+                campaign.getMaxAttempts(), campaign.getPassPercentage(), campaign.isActive(), Instant.now());
+        mutate(statistics -> statistics.add(campaign.getCampaignId(), tally));
+    }
+
+    public void putAll(List<Campaign> campaigns) {
+        campaigns.forEach(this::put);
+    }
+
+    public void remove(int campaignId) {
+        mutate(statistics -> statistics.subtract(campaignId));
+    }
+
+    public void removeByName(String campaignName) {
+        mutate(statistics -> {
+            List<Integer> campaignIds = new ArrayList<>();
+            statistics.tallies.forEach((campaignId, tally) -> {
+                if (campaignName.equals(tally.campaignName())) {
+                    campaignIds.add(campaignId);
+                }
+            });
+            campaignIds.forEach(statistics::subtract);
+        });
+    }
+
+    public void archived(int campaignId) {
+        mutate(statistics -> {
+            if (statistics.subtract(campaignId)) {
+                statistics.archivedCount++;
+            }
+        });
+    }
+
+    public void restored(Campaign campaign) {
+        mutate(statistics -> statistics.archivedCount = Math.max(0, statistics.archivedCount - 1));
+        put(campaign);
+    }
+
+    private synchronized void mutate(Consumer<CampaignStatistics> mutation) {
+        if (pendingMutations != null) {
+            pendingMutations.add(mutation);
+        }
+        if (snapshot != null) {
+            mutation.accept(this);
+            publish();
+        }
+    }
+
+    private void add(int campaignId, Tally tally) {
+        subtract(campaignId);
+        tallies.put(campaignId, tally);
+        statusCounts[tally.status().ordinal()]++;
+        attemptCounts[tally.attemptBucket()]++;
+        passCounts[tally.passBucket()]++;
+    }
+
+    private boolean subtract(int campaignId) {
+        Tally tally = tallies.remove(campaignId);
+        if (tally == null) {
+            return false;
+        }
+        statusCounts[tally.status().ordinal()]--;
+        attemptCounts[tally.attemptBucket()]--;
+        passCounts[tally.passBucket()]--;
+        return true;
+    }
+
+    private void clear() {
+        tallies.clear();
+        Arrays.fill(statusCounts, 0);
+        Arrays.fill(attemptCounts, 0);
+        Arrays.fill(passCounts, 0);
+    }
+
+    private void publish() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("total", (long) tallies.size());
+        result.put("active", statusCounts[Status.ACTIVE.ordinal()]);
+        result.put("upcoming", statusCounts[Status.UPCOMING.ordinal()]);
+        result.put("expired", statusCounts[Status.EXPIRED.ordinal()]);
+        result.put("archived", archivedCount);
+        result.put("byMaxAttempts", buckets(ATTEMPT_BUCKETS, attemptCounts));
+        result.put("byPassPercentage", buckets(PASS_BUCKETS, passCounts));
+        result.put("reconciledAt", reconciledAt);
+        snapshot = Collections.unmodifiableMap(result);
+    }
+
+    private static Map<String, Long> buckets(String[] labels, long[] counts) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (int i = 0; i < labels.length; i++) {
+            result.put(labels[i], counts[i]);
+        }
+        // Rows stored before validation applied (null values) are counted apart
+        if (counts[labels.length] > 0) {
+            result.put("unset", counts[labels.length]);
+        }
+        return result;
+    }
+
+    // Upcoming also covers a campaign whose window opened since the last activation run, it is about to go live
+    private static Tally tally(String campaignName, Instant endDate, Integer maxAttempts,
+                               Integer passPercentage, boolean active, Instant now) {
+        Status status = active ? Status.ACTIVE
+                : endDate != null && !endDate.isAfter(now) ? Status.EXPIRED
+                : Status.UPCOMING;
+        return new Tally(campaignName, status, attemptBucket(maxAttempts), passBucket(passPercentage));
+    }
+
+    private static int attemptBucket(Integer maxAttempts) {
+        if (maxAttempts == null) {
+            return ATTEMPT_BUCKETS.length;
+        }
+        if (maxAttempts <= 3) {
+            return Math.max(0, maxAttempts - 1);
+        }
+        return maxAttempts <= 5 ? 3 : maxAttempts <= 10 ? 4 : 5;
+    }
+
+    private static int passBucket(Integer passPercentage) {
+        if (passPercentage == null) {
+            return PASS_BUCKETS.length;
+        }
+        if (passPercentage < 50) {
+            return 0;
+        }
+        return Math.min(PASS_BUCKETS.length - 1, passPercentage / 10 - 4);
+    }
+}
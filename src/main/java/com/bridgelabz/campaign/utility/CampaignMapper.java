@@ -2,22 +2,53 @@ package com.bridgelabz.campaign.utility;
 
 import com.bridgelabz.campaign.model.Campaign;
 import com.bridgelabz.campaign.model.CampaignDto;
-import org.modelmapper.ModelMapper;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+/**
+ * Hand-written field copies between {@link CampaignDto} and {@link Campaign}. Mirrors the STRICT
+ * ModelMapper mapping this replaced: every property is copied by name (including nulls), the
+ * Lombok isActive/isArchive booleans map through their "active"/"archive" accessors and the
+ * entity id is left unset. Only the target object is allocated.
+ */
 @Component
 public class CampaignMapper {
-    private final ModelMapper modelMapper;
-    @Autowired
-    public CampaignMapper(ModelMapper modelMapper) {
-        this.modelMapper = modelMapper;
-    }
+
     public CampaignDto convertToDto(Campaign campaign) {
-        return modelMapper.map(campaign, CampaignDto.class);
+        requireSource(campaign);
+        CampaignDto campaignDto = new CampaignDto(
+                campaign.getCampaignName(),
+                campaign.getShortName(),
+                campaign.getCampaignDescription(),
+                campaign.getStartDate(),
+                campaign.getEndDate(),
+                campaign.getMaxAttempts(),
+                campaign.getPassPercentage(),
+                campaign.isActive(),
+                campaign.isArchive());
+        campaignDto.setVersion(campaign.getVersion());
+        return campaignDto;
     }
 
     public Campaign convertToEntity(CampaignDto campaignDto) {
-        return modelMapper.map(campaignDto, Campaign.class);
+        requireSource(campaignDto);
+        Campaign campaign = new Campaign();
+        campaign.setCampaignName(campaignDto.getCampaignName());
+        campaign.setShortName(campaignDto.getShortName());
+        campaign.setCampaignDescription(campaignDto.getCampaignDescription());
+        campaign.setStartDate(campaignDto.getStartDate());
+        campaign.setEndDate(campaignDto.getEndDate());
+        campaign.setMaxAttempts(campaignDto.getMaxAttempts());
+        campaign.setPassPercentage(campaignDto.getPassPercentage());
+        campaign.setActive(campaignDto.isActive());
+        campaign.setArchive(campaignDto.isArchive());
+        campaign.setVersion(campaignDto.getVersion());
+        return campaign;
+    }
+
+    private static void requireSource(Object source) {
+        // Same failure ModelMapper raised for a null source
+        if (source == null) {
+            throw new IllegalArgumentException("source cannot be null");
+        }
     }
 }
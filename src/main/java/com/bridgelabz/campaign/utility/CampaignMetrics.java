@@ -0,0 +1,72 @@
+package com.bridgelabz.campaign.utility;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+@Component
+public class CampaignMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final Timer activationTimer;
+    private final Counter activatedCounter;
+    private final Counter deactivatedCounter;
+
+    @Autowired
+    public CampaignMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.activationTimer = Timer.builder("campaign.activation.duration")
+                .description("Duration of one campaign activation run")
+                .register(meterRegistry);
+        this.activatedCounter = Counter.builder("campaign.activation.rows.changed")
+                .tag("change", "activated")
+                .register(meterRegistry);
+        this.deactivatedCounter = Counter.builder("campaign.activation.rows.changed")
+                .tag("change", "deactivated")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Times a service operation from subscription to response, tagged with the operation name and
+     * the outcome (the HTTP status name of the response, e.g. OK, NOT_FOUND, BAD_REQUEST).
+     */
+    public Mono<ResponseEntity<ResponseMessage>> timed(String operation, Mono<ResponseEntity<ResponseMessage>> response) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return response
+                    .doOnSuccess(entity -> sample.stop(requestTimer(operation, outcome(entity))))
+                    .doOnError(e -> sample.stop(requestTimer(operation, HttpStatus.INTERNAL_SERVER_ERROR.name())))
+                    .doOnCancel(() -> sample.stop(requestTimer(operation, "CANCELLED")));
+        });
+    }
+
+    public void recordActivation(Duration duration, int activated, int deactivated) {
+        activationTimer.record(duration);
+        activatedCounter.increment(activated);
+        deactivatedCounter.increment(deactivated);
+    }
+
+    private Timer requestTimer(String operation, String outcome) {
+        return Timer.builder("campaign.requests")
+                .description("Campaign service operations by outcome")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static String outcome(ResponseEntity<ResponseMessage> entity) {
+        if (entity == null) {
+            return "EMPTY";
+        }
+        HttpStatus status = HttpStatus.resolve(entity.getStatusCode().value());
+        return status != null ? status.name() : String.valueOf(entity.getStatusCode().value());
+    }
+}
@@ -9,6 +9,8 @@ import org.springframework.stereotype.Component;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 
 @Component
@@ -28,6 +30,53 @@ public class CampaignValidator {
             throw new IllegalArgumentException(violation.getMessage());
         }
     }
+    /**
+     * Precompiled equivalent of {@link #validate(Object)} plus {@link #validateCampaignDates(Campaign)}
+     * for {@link Campaign}: checks the annotation constraints field by field and returns every
+     * violation instead of throwing on the first one.
+     */
+    public List<String> collectViolations(Campaign campaign) {
+        List<String> violations = new ArrayList<>(2);
+        String campaignName = campaign.getCampaignName();
+        if (campaignName == null) {
+            violations.add("Campaign name is required");
+        }
+        if (campaignName == null || campaignName.isEmpty()) {
+            violations.add("must not be empty");
+        }
+        Instant startDate = campaign.getStartDate();
+        Instant endDate = campaign.getEndDate();
+        if (startDate == null) {
+            violations.add("Start date is required");
+        }
+        if (endDate == null) {
+            violations.add("End date is required");
+        }
+        Integer maxAttempts = campaign.getMaxAttempts();
+        if (maxAttempts == null) {
+            violations.add("Max attempts is required");
+        } else if (maxAttempts < 1) {
+            violations.add("Max attempts must be greater than or equal to 1");
+        }
+        Integer passPercentage = campaign.getPassPercentage();
+        if (passPercentage == null) {
+            violations.add("Pass percentage is required");
+        } else if (passPercentage < 0) {
+            violations.add("Pass percentage cannot be negative");
+        } else if (passPercentage > 100) {
+            violations.add("Pass percentage cannot be greater than 100");
+        }
+        // Same rules as validateCampaignDates, only when the dates themselves are present
+        if (startDate != null) {
+            if (startDate.isBefore(Instant.now())) {
+                violations.add("Start date must be greater than current date");
+            }
+            if (endDate != null && endDate.isBefore(startDate.plus(Duration.ofDays(1)))) {
+                violations.add("End date must be greater than start date");
+            }
+        }
+        return violations;
+    }
     public void validateCampaignDates(Campaign campaign) {
         Instant startDate = campaign.getStartDate();
         Instant endDate = campaign.getEndDate();
@@ -0,0 +1,153 @@
+package com.bridgelabz.campaign.utility;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Non-blocking limit on concurrent operations with a bounded FIFO wait queue.
+ * A caller that cannot get a permit within {@code maxWait}, or finds the queue full,
+ * fails fast with {@link RejectedException} instead of piling up behind the others.
+ */
+public class ConcurrencyLimiter {
+
+    private static final Object CANCELLED = new Object();
+
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final Duration maxWait;
+    private final AtomicInteger available;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+
+    public ConcurrencyLimiter(int maxConcurrent, int maxQueued, Duration maxWait) {
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+        this.maxWait = maxWait;
+        this.available = new AtomicInteger(maxConcurrent);
+    }
+
+    public <T> Mono<T> run(Mono<T> operation) {
+        return acquire().flatMap(permit -> operation.doFinally(signal -> permit.release()));
+    }
+
+    public int inFlight() {
+        return maxConcurrent - Math.max(0, available.get());
+    }
+
+    public int queued() {
+        return queued.get();
+    }
+
+    // A rejected caller can expect a permit after roughly one queue budget
+    public long retryAfterSeconds() {
+        return Math.max(1, (maxWait.toMillis() + 999) / 1000);
+    }
+
+    private Mono<Permit> acquire() {
+        return Mono.defer(() -> {
+            if (tryTake()) {
+                return Mono.just(new Permit());
+            }
+            // Claim the queue slot first and give it back when over, a check-then-increment could overshoot
+            if (queued.incrementAndGet() > maxQueued) {
+                queued.decrementAndGet();
+                return Mono.error(new RejectedException("queue full", retryAfterSeconds()));
+            }
+            return Mono.<Permit>create(sink -> {
+                        Waiter waiter = new Waiter(sink);
+                        waiters.add(waiter);
+                        sink.onCancel(waiter::cancel);
+                        // A permit released between tryTake and enqueue would otherwise go unnoticed
+                        drain();
+                    })
+                    .timeout(maxWait, Mono.error(new RejectedException("waited longer than " + maxWait, retryAfterSeconds())));
+        });
+    }
+
+    private boolean tryTake() {
+        while (true) {
+            int current = available.get();
+            if (current <= 0) {
+                return false;
+            }
+            if (available.compareAndSet(current, current - 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void release() {
+        available.incrementAndGet();
+        drain();
+    }
+
+    // Hands free permits to waiters in arrival order, skipping the ones that gave up
+    private void drain() {
+        while (!waiters.isEmpty() && tryTake()) {
+            Waiter waiter = waiters.poll();
+            if (waiter == null || !waiter.grant()) {
+                available.incrementAndGet();
+            }
+        }
+    }
+
+    private class Permit {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                ConcurrencyLimiter.this.release();
+            }
+        }
+    }
+
+    private class Waiter {
+        private final MonoSink<Permit> sink;
+        // null while waiting, then the granted permit, or CANCELLED
+        private final AtomicReference<Object> state = new AtomicReference<>();
+
+        Waiter(MonoSink<Permit> sink) {
+            this.sink = sink;
+        }
+
+        boolean grant() {
+            Permit permit = new Permit();
+            if (!state.compareAndSet(null, permit)) {
+                return false;
+            }
+            queued.decrementAndGet();
+            sink.success(permit);
+            return true;
+        }
+
+        void cancel() {
+            if (state.compareAndSet(null, CANCELLED)) {
+                queued.decrementAndGet();
+                waiters.remove(this);
+            } else if (state.get() instanceof Permit permit) {
+                // Granted while the timeout fired, the permit never reached the caller
+                permit.release();
+            }
+        }
+    }
+
+    public static class RejectedException extends RuntimeException {
+        private final long retryAfterSeconds;
+
+        public RejectedException(String message, long retryAfterSeconds) {
+            super(message);
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        public long getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+    }
+}
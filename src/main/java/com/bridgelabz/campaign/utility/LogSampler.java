@@ -0,0 +1,62 @@
+package com.bridgelabz.campaign.utility;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-path rate limit for high-volume success logs. Each path may log at most
+ * campaign.logging.success-per-second.&lt;path&gt; lines per second (falling back to
+ * campaign.logging.success-per-second); a negative limit disables sampling, zero mutes the path.
+ */
+@Component
+public class LogSampler {
+
+    private final Environment env;
+    private final int defaultPerSecond;
+    private final ConcurrentHashMap<String, Window> windows = new ConcurrentHashMap<>();
+
+    @Autowired
+    public LogSampler(Environment env) {
+        this.env = env;
+        this.defaultPerSecond = env.getProperty("campaign.logging.success-per-second", Integer.class, -1);
+    }
+
+    public boolean sample(String path) {
+        Window window = windows.get(path);
+        if (window == null) {
+            window = windows.computeIfAbsent(path, key -> new Window(
+                    env.getProperty("campaign.logging.success-per-second." + key, Integer.class, defaultPerSecond)));
+        }
+        return window.tryAcquire();
+    }
+
+    private static final class Window {
+        private final int limit;
+        private final AtomicInteger count = new AtomicInteger();
+        private volatile long second;
+
+        Window(int limit) {
+            this.limit = limit;
+        }
+
+        boolean tryAcquire() {
+            if (limit < 0) {
+                return true;
+            }
+            long now = System.currentTimeMillis() / 1000;
+            if (now != second) {
+                synchronized (this) {
+                    if (now != second) {
+                        count.set(0);
+                        second = now;
+                    }
+                }
+            }
+            return count.incrementAndGet() <= limit;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.bridgelabz.campaign.utility;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Logs time-to-ready, measured from JVM start so class loading and AOT/CDS effects are included.
+ * The startup benchmark reads this line from the process output and stops the process itself.
+ */
+@Component
+public class StartupTimeReporter {
+
+    private static final Logger logger = LogManager.getLogger(StartupTimeReporter.class);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady(ApplicationReadyEvent event) {
+        long timeToReady = ManagementFactory.getRuntimeMXBean().getUptime();
+        // Parsed by StartupTimeBenchmark, keep the format stable
+        logger.info("time-to-ready={}ms context={}ms", timeToReady, event.getTimeTaken().toMillis());
+    }
+}
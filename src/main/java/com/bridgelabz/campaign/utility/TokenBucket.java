@@ -0,0 +1,31 @@
+package com.bridgelabz.campaign.utility;
+
+/**
+ * Token bucket refilled continuously at {@code ratePerSecond}, holding at most {@code burst} tokens.
+ */
+public class TokenBucket {
+
+    private final double nanosPerToken;
+    private final double burst;
+    private double tokens;
+    private long refilledAt;
+
+    public TokenBucket(double ratePerSecond, int burst) {
+        this.nanosPerToken = 1_000_000_000d / ratePerSecond;
+        this.burst = burst;
+        this.tokens = burst;
+        this.refilledAt = System.nanoTime();
+    }
+
+    // Returns 0 when a token was taken, otherwise the nanos until one becomes available
+    public synchronized long tryConsume() {
+        long now = System.nanoTime();
+        tokens = Math.min(burst, tokens + (now - refilledAt) / nanosPerToken);
+        refilledAt = now;
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) * nanosPerToken);
+    }
+}
@@ -8,5 +8,32 @@ CREATE TABLE IF NOT EXISTS Campaigns (
     max_attempts INT NOT NULL,
     pass_percentage INT NOT NULL,
     is_active boolean NOT NULL,
-    is_archive boolean NOT NULL
-);
\ No newline at end of file
+    is_archive boolean NOT NULL,
+    version INT NOT NULL DEFAULT 0,
+    INDEX idx_campaigns_name (campaign_name),
+    INDEX idx_campaigns_start_date (start_date),
+    INDEX idx_campaigns_end_date (end_date)
+);
+
+-- Cold tier, archived campaigns are moved here so Campaigns only holds live rows
+CREATE TABLE IF NOT EXISTS Campaigns_archive (
+    campaign_id INT PRIMARY KEY,
+    campaign_name VARCHAR(255) NOT NULL,
+    short_name VARCHAR(255),
+    campaign_description VARCHAR(1000),
+    start_date TIMESTAMP NOT NULL,
+    end_date TIMESTAMP NOT NULL,
+    max_attempts INT NOT NULL,
+    pass_percentage INT NOT NULL,
+    is_active boolean NOT NULL,
+    is_archive boolean NOT NULL,
+    version INT NOT NULL DEFAULT 0,
+    archived_at TIMESTAMP NOT NULL
+);
+
+-- Cluster-wide scheduler ownership, see LeaseRepository
+CREATE TABLE IF NOT EXISTS Leases (
+    lease_name VARCHAR(64) PRIMARY KEY,
+    owner VARCHAR(255) NOT NULL,
+    expires_at TIMESTAMP(3) NOT NULL
+);
@@ -0,0 +1,48 @@
+package com.bridgelabz.campaign.benchmark;
+
+import com.bridgelabz.campaign.model.Campaign;
+import com.bridgelabz.campaign.model.CampaignDto;
+import com.bridgelabz.campaign.utility.CampaignMapper;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.MatchingStrategies;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call cost of the hand-written {@link CampaignMapper} against the ModelMapper setup it replaced.
+ * Run with {@code mvn -Pbenchmark verify -Dbenchmark.include=CampaignMapperBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CampaignMapperBenchmark {
+
+    private ModelMapper modelMapper;
+    private CampaignMapper campaignMapper;
+    private CampaignDto campaignDto;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        modelMapper.getConfiguration().setMatchingStrategy(MatchingStrategies.STRICT);
+        campaignMapper = new CampaignMapper();
+        Instant start = Instant.now().plus(Duration.ofDays(1));
+        campaignDto = new CampaignDto("Java Basics", "JB", "Introductory MCQ campaign", start, start.plus(Duration.ofDays(7)), 3, 60, false, false);
+    }
+
+    @Benchmark
+    public Campaign modelMapperToEntity() {
+        return modelMapper.map(campaignDto, Campaign.class);
+    }
+
+    @Benchmark
+    public Campaign handWrittenToEntity() {
+        return campaignMapper.convertToEntity(campaignDto);
+    }
+}
@@ -0,0 +1,92 @@
+package com.bridgelabz.campaign.benchmark;
+
+import com.bridgelabz.campaign.model.Campaign;
+import com.bridgelabz.campaign.model.CampaignSearchCriteria;
+import com.bridgelabz.campaign.repository.CampaignRepositoryCustomImpl;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search latency against an in-memory H2 database (MySQL mode) created from schema.sql,
+ * so the secondary indexes are the same ones the application ships with.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CampaignSearchBenchmark {
+
+    private static final int SEED_CHUNK = 500;
+
+    @Param({"1000", "10000", "100000"})
+    private int rows;
+
+    private DatabaseClient databaseClient;
+    private CampaignRepositoryCustomImpl repository;
+    private CampaignSearchCriteria namePrefixCriteria;
+    private CampaignSearchCriteria activeWindowCriteria;
+
+    @Setup
+    public void setUp() throws Exception {
+        ConnectionFactory connectionFactory = ConnectionFactories.get(
+                "r2dbc:h2:mem:///campaign-search-" + rows + ";MODE=MySQL;DATABASE_TO_UPPER=false;DB_CLOSE_DELAY=-1");
+        R2dbcEntityTemplate template = new R2dbcEntityTemplate(connectionFactory);
+        databaseClient = template.getDatabaseClient();
+        String schema = new ClassPathResource("schema.sql").getContentAsString(StandardCharsets.UTF_8);
+        for (String statement : schema.split(";")) {
+            if (!statement.isBlank()) {
+                databaseClient.sql(statement).then().block();
+            }
+        }
+        repository = new CampaignRepositoryCustomImpl(databaseClient, template, new R2dbcTransactionManager(connectionFactory));
+
+        Instant base = Instant.parse("2024-01-01T00:00:00Z");
+        List<Campaign> chunk = new ArrayList<>(SEED_CHUNK);
+        for (int i = 0; i < rows; i++) {
+            Instant start = base.plus(Duration.ofHours(i));
+            chunk.add(new Campaign(0, "Campaign " + i, "C" + i, "Seeded campaign", start, start.plus(Duration.ofDays(7)), 3, 60, i % 3 == 0, false, null));
+            if (chunk.size() == SEED_CHUNK || i == rows - 1) {
+                repository.insertAll(chunk).block();
+                chunk = new ArrayList<>(SEED_CHUNK);
+            }
+        }
+
+        namePrefixCriteria = new CampaignSearchCriteria();
+        namePrefixCriteria.setNamePrefix("Campaign 42");
+        namePrefixCriteria.setSort("campaignName");
+
+        activeWindowCriteria = new CampaignSearchCriteria();
+        activeWindowCriteria.setActive(true);
+        activeWindowCriteria.setStartFrom(base.plus(Duration.ofHours(rows / 2)));
+        activeWindowCriteria.setSort("-startDate");
+    }
+
+    @Benchmark
+    public List<Campaign> namePrefix() {
+        return repository.search(namePrefixCriteria).collectList().block();
+    }
+
+    @Benchmark
+    public List<Campaign> activeStartWindow() {
+        return repository.search(activeWindowCriteria).collectList().block();
+    }
+
+    @TearDown
+    public void tearDown() {
+        databaseClient.sql("DROP ALL OBJECTS").then().block();
+    }
+}
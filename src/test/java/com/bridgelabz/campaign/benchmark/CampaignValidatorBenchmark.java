@@ -0,0 +1,65 @@
+package com.bridgelabz.campaign.benchmark;
+
+import com.bridgelabz.campaign.model.Campaign;
+import com.bridgelabz.campaign.utility.CampaignValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reflective Bean Validation path (throwing on the first violation) against
+ * {@link CampaignValidator#collectViolations(Campaign)}, on a valid and an invalid payload.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CampaignValidatorBenchmark {
+
+    private CampaignValidator campaignValidator;
+    private Campaign validCampaign;
+    private Campaign invalidCampaign;
+
+    @Setup
+    public void setUp() {
+        campaignValidator = new CampaignValidator();
+        Instant start = Instant.now().plus(Duration.ofDays(30));
+        validCampaign = new Campaign(0, "Java Basics", "JB", "Introductory MCQ campaign", start, start.plus(Duration.ofDays(7)), 3, 60, false, false, null);
+        invalidCampaign = new Campaign(0, "", "JB", "Introductory MCQ campaign", start, start, 0, 120, false, false, null);
+    }
+
+    @Benchmark
+    public String reflectiveValid() {
+        return reflective(validCampaign);
+    }
+
+    @Benchmark
+    public String reflectiveInvalid() {
+        return reflective(invalidCampaign);
+    }
+
+    @Benchmark
+    public List<String> precompiledValid() {
+        return campaignValidator.collectViolations(validCampaign);
+    }
+
+    @Benchmark
+    public List<String> precompiledInvalid() {
+        return campaignValidator.collectViolations(invalidCampaign);
+    }
+
+    private String reflective(Campaign campaign) {
+        try {
+            campaignValidator.validate(campaign);
+            campaignValidator.validateCampaignDates(campaign);
+            return null;
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
+}
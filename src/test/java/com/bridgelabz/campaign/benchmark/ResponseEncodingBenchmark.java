@@ -0,0 +1,88 @@
+package com.bridgelabz.campaign.benchmark;
+
+import com.bridgelabz.campaign.configuration.BinaryCodecConfig;
+import com.bridgelabz.campaign.configuration.ResponseMessageCborEncoder;
+import com.bridgelabz.campaign.model.Campaign;
+import com.bridgelabz.campaign.utility.ResponseMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode time of a campaign list envelope as JSON (what WebFlux sends by default), Smile and
+ * the pre-encoded CBOR envelope. Bytes on the wire for each format are printed during setup.
+ * Run with {@code mvn -Pbenchmark verify -Dbenchmark.include=ResponseEncodingBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseEncodingBenchmark {
+
+    private static final ResolvableType RESPONSE_TYPE = ResolvableType.forClass(ResponseMessage.class);
+
+    @Param({"1", "50", "500"})
+    private int campaigns;
+
+    private ObjectMapper jsonMapper;
+    private ObjectMapper smileMapper;
+    private ResponseMessageCborEncoder cborEncoder;
+    private DefaultDataBufferFactory bufferFactory;
+    private ResponseMessage response;
+
+    @Setup
+    public void setUp() throws Exception {
+        // Same settings Spring Boot applies to the JSON mapper
+        jsonMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        smileMapper = Jackson2ObjectMapperBuilder.smile().build();
+        cborEncoder = new ResponseMessageCborEncoder(BinaryCodecConfig.cborMapper(), BinaryCodecConfig.knownMessages());
+        bufferFactory = DefaultDataBufferFactory.sharedInstance;
+
+        Instant start = Instant.parse("2024-03-01T09:00:00Z");
+        List<Campaign> data = new ArrayList<>(campaigns);
+        for (int i = 1; i <= campaigns; i++) {
+            Instant campaignStart = start.plus(Duration.ofHours(i));
+            data.add(new Campaign(i, "Campaign " + i, "C" + i, "MCQ campaign number " + i, campaignStart,
+                    campaignStart.plus(Duration.ofDays(7)), 3, 60, i % 2 == 0, false, 0));
+        }
+        response = new ResponseMessage(200, "All campaigns retrieved successfully", data);
+
+        System.out.printf("campaigns=%d json=%dB smile=%dB cbor=%dB%n", campaigns,
+                json().length, smile().length, cbor());
+    }
+
+    @Benchmark
+    public byte[] json() throws Exception {
+        return jsonMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] smile() throws Exception {
+        return smileMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public int cbor() {
+        DataBuffer buffer = cborEncoder.encodeValue(response, bufferFactory, RESPONSE_TYPE, MediaType.APPLICATION_CBOR, Map.of());
+        int size = buffer.readableByteCount();
+        DataBufferUtils.release(buffer);
+        return size;
+    }
+}
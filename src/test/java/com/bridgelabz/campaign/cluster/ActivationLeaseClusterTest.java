@@ -0,0 +1,67 @@
+package com.bridgelabz.campaign.cluster;
+
+import com.bridgelabz.campaign.CampaignApplication;
+import com.bridgelabz.campaign.service.ActivationLease;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Starts three instances against one embedded H2 database and checks that exactly one of them
+ * holds the activation lease, and that another one takes over when the leader shuts down.
+ */
+class ActivationLeaseClusterTest {
+
+    private static final int INSTANCES = 3;
+    private static final Duration TIMEOUT = Duration.ofSeconds(15);
+
+    private final List<ConfigurableApplicationContext> instances = new ArrayList<>();
+
+    @AfterEach
+    void stopInstances() {
+        instances.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    void singleLeaderAndFailover() throws Exception {
+        for (int i = 0; i < INSTANCES; i++) {
+            instances.add(new SpringApplicationBuilder(CampaignApplication.class)
+                    .profiles("cluster")
+                    .properties("campaign.instance-id=node-" + i)
+                    .run());
+        }
+
+        ConfigurableApplicationContext leader = awaitSingleLeader();
+        String firstOwner = leader.getBean(ActivationLease.class).getOwner();
+        leader.close();
+        instances.remove(leader);
+
+        ConfigurableApplicationContext successor = awaitSingleLeader();
+        assertNotEquals(firstOwner, successor.getBean(ActivationLease.class).getOwner());
+    }
+
+    // Polls until exactly one instance leads, failing as soon as two lead at once
+    private ConfigurableApplicationContext awaitSingleLeader() throws InterruptedException {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            List<ConfigurableApplicationContext> leaders = instances.stream()
+                    .filter(instance -> instance.getBean(ActivationLease.class).isLeader())
+                    .toList();
+            assertTrue(leaders.size() <= 1, "More than one instance holds the activation lease");
+            if (leaders.size() == 1) {
+                return leaders.get(0);
+            }
+            Thread.sleep(100);
+        }
+        return fail("No instance acquired the activation lease within " + TIMEOUT);
+    }
+}
@@ -0,0 +1,47 @@
+package com.bridgelabz.campaign.configuration;
+
+import org.junit.jupiter.api.Test;
+import reactor.pool.PooledRefMetadata;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IdleEvictionPolicyTest {
+
+    private final IdleEvictionPolicy policy = new IdleEvictionPolicy(Duration.ofMinutes(1), Duration.ofMinutes(30));
+
+    @Test
+    void evictsEveryIdleConnectionUntilASurplusIsSet() {
+        assertTrue(policy.test(null, metadata(60_000, 60_000)));
+        assertTrue(policy.test(null, metadata(60_000, 60_000)));
+        assertFalse(policy.test(null, metadata(59_999, 60_000)));
+    }
+
+    @Test
+    void evictsIdleConnectionsOnlyDownToTheTarget() {
+        policy.surplus(2);
+
+        assertTrue(policy.test(null, metadata(120_000, 120_000)));
+        assertTrue(policy.test(null, metadata(120_000, 120_000)));
+        assertFalse(policy.test(null, metadata(120_000, 120_000)));
+    }
+
+    @Test
+    void evictsConnectionsPastTheirLifetimeRegardlessOfTarget() {
+        policy.surplus(0);
+
+        assertFalse(policy.test(null, metadata(120_000, 120_000)));
+        assertTrue(policy.test(null, metadata(0, 1_800_000)));
+    }
+
+    private static PooledRefMetadata metadata(long idleMillis, long lifeMillis) {
+        PooledRefMetadata metadata = mock(PooledRefMetadata.class);
+        when(metadata.idleTime()).thenReturn(idleMillis);
+        when(metadata.lifeTime()).thenReturn(lifeMillis);
+        return metadata;
+    }
+}
@@ -0,0 +1,308 @@
+package com.bridgelabz.campaign.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives a configurable create/get/list/update/delete mix through the real WebFlux stack against
+ * an embedded H2 database and writes throughput and latency percentiles to
+ * {@code target/loadtest/loadtest-<label>-<timestamp>.json} (and {@code latest.json}).
+ * Excluded from the default build, run with {@code mvn -Ploadtest test}.
+ */
+@Tag("load")
+@ActiveProfiles("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class CampaignLoadTest {
+
+    private static final Logger logger = LogManager.getLogger(CampaignLoadTest.class);
+    private static final List<String> OPERATIONS = List.of("create", "get", "list", "update", "delete");
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${loadtest.duration}")
+    private Duration duration;
+    @Value("${loadtest.warmup}")
+    private Duration warmup;
+    @Value("${loadtest.concurrency}")
+    private int concurrency;
+    @Value("${loadtest.seed-campaigns}")
+    private int seedCampaigns;
+    @Value("${loadtest.mix}")
+    private String mix;
+    @Value("${loadtest.report-dir}")
+    private String reportDir;
+    @Value("${loadtest.label}")
+    private String label;
+
+    private WebClient webClient;
+    private final List<Integer> campaignIds = new CopyOnWriteArrayList<>();
+
+    @Test
+    void runLoad() throws Exception {
+        webClient = WebClient.builder().baseUrl("http://localhost:" + port + "/campaign").build();
+        Map<String, Integer> weights = parseMix(mix);
+        seed();
+
+        logger.info("Warming up for {}", warmup);
+        drive(weights, warmup, new Stats());
+        Stats stats = new Stats();
+        logger.info("Measuring for {} with concurrency {} and mix {}", duration, concurrency, mix);
+        long startNanos = System.nanoTime();
+        drive(weights, duration, stats);
+        double elapsedSeconds = (System.nanoTime() - startNanos) / 1e9;
+
+        Map<String, Object> report = report(stats, elapsedSeconds);
+        writeReport(report);
+        assertTrue(stats.total() > 0, "No requests completed during the load test");
+    }
+
+    private void seed() {
+        List<Map<String, Object>> payloads = new ArrayList<>();
+        for (int i = 0; i < seedCampaigns; i++) {
+            payloads.add(campaignPayload("seed-" + i));
+        }
+        JsonNode body = webClient.post().uri("/create/batch")
+                .bodyValue(payloads)
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .block(Duration.ofMinutes(1));
+        for (JsonNode item : body.path("data")) {
+            if (item.path("code").asInt() == 200) {
+                campaignIds.add(item.path("campaignId").asInt());
+            }
+        }
+        logger.info("Seeded {} campaigns", campaignIds.size());
+    }
+
+    private void drive(Map<String, Integer> weights, Duration window, Stats stats) {
+        long deadline = System.nanoTime() + window.toNanos();
+        Flux.range(0, concurrency)
+                .flatMap(worker -> Mono.defer(() -> execute(pick(weights), stats))
+                        .repeat(() -> System.nanoTime() < deadline), concurrency)
+                .blockLast(window.plusMinutes(1));
+    }
+
+    private Mono<Integer> execute(String operation, Stats stats) {
+        long start = System.nanoTime();
+        return request(operation)
+                .doOnNext(status -> stats.record(operation, System.nanoTime() - start, status))
+                .onErrorResume(e -> {
+                    stats.record(operation, System.nanoTime() - start, -1);
+                    return Mono.just(-1);
+                });
+    }
+
+    private Mono<Integer> request(String operation) {
+        Integer campaignId = randomCampaignId();
+        switch (operation) {
+            case "create":
+                return webClient.post().uri("/create")
+                        .bodyValue(campaignPayload("load-" + System.nanoTime()))
+                        .exchangeToMono(response -> response.bodyToMono(JsonNode.class)
+                                .doOnNext(body -> {
+                                    if (response.statusCode().is2xxSuccessful()) {
+                                        campaignIds.add(body.path("data").path("campaignId").asInt());
+                                    }
+                                })
+                                .thenReturn(response.statusCode().value()));
+            case "get":
+                return exchange(webClient.get().uri("/get/{campaignId}", campaignId == null ? 0 : campaignId));
+            case "list":
+                return exchange(webClient.get().uri("/get/page?afterId={afterId}&limit=50", campaignId == null ? 0 : campaignId));
+            case "update":
+                return exchange(webClient.put().uri("/update/{campaignId}", campaignId == null ? 0 : campaignId)
+                        .bodyValue(campaignPayload("updated-" + System.nanoTime())));
+            default:
+                if (campaignId != null) {
+                    campaignIds.remove(campaignId);
+                }
+                return exchange(webClient.delete().uri("/delete/campaignId/{campaignId}", campaignId == null ? 0 : campaignId));
+        }
+    }
+
+    private Mono<Integer> exchange(WebClient.RequestHeadersSpec<?> spec) {
+        return spec.exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode().value()));
+    }
+
+    private Integer randomCampaignId() {
+        int size = campaignIds.size();
+        if (size == 0) {
+            return null;
+        }
+        try {
+            return campaignIds.get(ThreadLocalRandom.current().nextInt(size));
+        } catch (IndexOutOfBoundsException e) {
+            // Shrunk by a concurrent delete
+            return null;
+        }
+    }
+
+    private static Map<String, Object> campaignPayload(String name) {
+        Instant start = Instant.now().plus(Duration.ofDays(1 + ThreadLocalRandom.current().nextInt(30)));
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("campaignName", name);
+        payload.put("shortName", "LT");
+        payload.put("campaignDescription", "Load test campaign");
+        payload.put("startDate", start.toString());
+        payload.put("endDate", start.plus(Duration.ofDays(7)).toString());
+        payload.put("maxAttempts", 3);
+        payload.put("passPercentage", 60);
+        return payload;
+    }
+
+    private static String pick(Map<String, Integer> weights) {
+        int total = weights.values().stream().mapToInt(Integer::intValue).sum();
+        int roll = ThreadLocalRandom.current().nextInt(total);
+        for (Map.Entry<String, Integer> weight : weights.entrySet()) {
+            roll -= weight.getValue();
+            if (roll < 0) {
+                return weight.getKey();
+            }
+        }
+        return "get";
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String part : mix.split(",")) {
+            String[] pair = part.trim().split("=");
+            if (!OPERATIONS.contains(pair[0])) {
+                throw new IllegalArgumentException("Unknown load test operation: " + pair[0]);
+            }
+            int weight = Integer.parseInt(pair[1]);
+            if (weight > 0) {
+                weights.put(pair[0], weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Load test mix has no operations: " + mix);
+        }
+        return weights;
+    }
+
+    private Map<String, Object> report(Stats stats, double elapsedSeconds) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("label", label);
+        report.put("timestamp", Instant.now().toString());
+        report.put("durationSeconds", elapsedSeconds);
+        report.put("concurrency", concurrency);
+        report.put("mix", mix);
+        report.put("seedCampaigns", seedCampaigns);
+        Map<String, Object> operations = new LinkedHashMap<>();
+        List<Long> all = new ArrayList<>();
+        for (Map.Entry<String, OperationStats> entry : new TreeMap<>(stats.operations).entrySet()) {
+            operations.put(entry.getKey(), entry.getValue().summary(elapsedSeconds));
+            all.addAll(entry.getValue().latencies);
+        }
+        report.put("operations", operations);
+        report.put("total", OperationStats.summary(all, stats.total(), stats.serverErrors(), stats.clientErrors(), elapsedSeconds));
+        return report;
+    }
+
+    private void writeReport(Map<String, Object> report) throws Exception {
+        Path dir = Path.of(reportDir);
+        Files.createDirectories(dir);
+        String timestamp = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC).format(Instant.now());
+        byte[] json = objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValueAsBytes(report);
+        Files.write(dir.resolve("loadtest-" + label + "-" + timestamp + ".json"), json);
+        Files.write(dir.resolve("latest.json"), json);
+        logger.info("Load test report written to {}", dir.toAbsolutePath());
+    }
+
+    private static final class Stats {
+        private final Map<String, OperationStats> operations = new ConcurrentHashMap<>();
+
+        void record(String operation, long latencyNanos, int status) {
+            operations.computeIfAbsent(operation, key -> new OperationStats()).record(latencyNanos, status);
+        }
+
+        long total() {
+            return operations.values().stream().mapToLong(stats -> stats.count.get()).sum();
+        }
+
+        long serverErrors() {
+            return operations.values().stream().mapToLong(stats -> stats.serverErrors.get()).sum();
+        }
+
+        long clientErrors() {
+            return operations.values().stream().mapToLong(stats -> stats.clientErrors.get()).sum();
+        }
+    }
+
+    private static final class OperationStats {
+        private final Queue<Long> latencies = new ConcurrentLinkedQueue<>();
+        private final AtomicLong count = new AtomicLong();
+        // 5xx responses and transport failures
+        private final AtomicLong serverErrors = new AtomicLong();
+        // 4xx responses, expected in small numbers when deletes race with reads
+        private final AtomicLong clientErrors = new AtomicLong();
+
+        void record(long latencyNanos, int status) {
+            latencies.add(latencyNanos);
+            count.incrementAndGet();
+            if (status < 0 || status >= 500) {
+                serverErrors.incrementAndGet();
+            } else if (status >= 400) {
+                clientErrors.incrementAndGet();
+            }
+        }
+
+        Map<String, Object> summary(double elapsedSeconds) {
+            return summary(new ArrayList<>(latencies), count.get(), serverErrors.get(), clientErrors.get(), elapsedSeconds);
+        }
+
+        static Map<String, Object> summary(List<Long> latencies, long count, long serverErrors, long clientErrors, double elapsedSeconds) {
+            long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("count", count);
+            summary.put("serverErrors", serverErrors);
+            summary.put("clientErrors", clientErrors);
+            summary.put("throughputPerSecond", count / elapsedSeconds);
+            summary.put("p50Millis", percentile(sorted, 0.50));
+            summary.put("p90Millis", percentile(sorted, 0.90));
+            summary.put("p99Millis", percentile(sorted, 0.99));
+            summary.put("p999Millis", percentile(sorted, 0.999));
+            summary.put("maxMillis", sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6);
+            return summary;
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.bridgelabz.campaign.repository;
+
+import com.bridgelabz.campaign.model.Campaign;
+import com.bridgelabz.campaign.model.CampaignField;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Projected reads against an in-memory H2 database (MySQL mode) created from schema.sql, compared
+ * with the entity read of the same rows.
+ */
+class CampaignRepositoryCustomImplTest {
+
+    private static final Instant START = Instant.parse("2024-03-01T09:30:15Z");
+    private static final Set<CampaignField> FIELDS = EnumSet.of(CampaignField.CAMPAIGN_ID, CampaignField.CAMPAIGN_NAME,
+            CampaignField.START_DATE, CampaignField.END_DATE, CampaignField.ACTIVE);
+
+    private R2dbcEntityTemplate template;
+    private CampaignRepositoryCustomImpl repository;
+    private List<Campaign> inserted;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ConnectionFactory connectionFactory = ConnectionFactories.get(
+                "r2dbc:h2:mem:///campaign-projection-" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_UPPER=false;DB_CLOSE_DELAY=-1");
+        template = new R2dbcEntityTemplate(connectionFactory);
+        DatabaseClient databaseClient = template.getDatabaseClient();
+        String schema = new ClassPathResource("schema.sql").getContentAsString(StandardCharsets.UTF_8);
+        for (String statement : schema.split(";")) {
+            if (!statement.isBlank()) {
+                databaseClient.sql(statement).then().block();
+            }
+        }
+        repository = new CampaignRepositoryCustomImpl(databaseClient, template, new R2dbcTransactionManager(connectionFactory));
+        inserted = Flux.just(
+                        new Campaign(0, "First", "F", null, START, START.plus(Duration.ofDays(7)), 3, 60, true, false, null),
+                        new Campaign(0, "Second", "S", null, START.plus(Duration.ofHours(5)), START.plus(Duration.ofDays(9)), 1, 40, false, false, null))
+                .concatMap(template::insert)
+                .collectList()
+                .block();
+    }
+
+    @Test
+    void projectedDatesMatchTheEntityRead() {
+        List<Campaign> entities = template.select(Campaign.class).from("Campaigns").all().collectList().block();
+        List<Map<String, Object>> projected = repository.findAllProjected(FIELDS).collectList().block();
+
+        Map<Object, Map<String, Object>> projectedById = projected.stream()
+                .collect(Collectors.toMap(row -> row.get("campaignId"), Function.identity()));
+        assertEquals(inserted.size(), entities.size());
+        assertEquals(entities.size(), projectedById.size());
+        for (Campaign entity : entities) {
+            Map<String, Object> row = projectedById.get(entity.getCampaignId());
+            assertEquals(entity.getCampaignName(), row.get("campaignName"));
+            assertEquals(entity.getStartDate(), row.get("startDate"));
+            assertEquals(entity.getEndDate(), row.get("endDate"));
+            assertEquals(entity.isActive(), row.get("active"));
+        }
+        for (Campaign campaign : inserted) {
+            assertEquals(campaign.getStartDate(), projectedById.get(campaign.getCampaignId()).get("startDate"));
+            assertEquals(campaign.getEndDate(), projectedById.get(campaign.getCampaignId()).get("endDate"));
+        }
+    }
+
+    @Test
+    void projectedPageCarriesDates() {
+        int firstId = inserted.get(0).getCampaignId();
+
+        List<Map<String, Object>> page = repository.findPageAfterProjected(FIELDS, firstId, 10).collectList().block();
+
+        assertEquals(1, page.size());
+        assertEquals(inserted.get(1).getCampaignId(), page.get(0).get("campaignId"));
+        assertEquals(inserted.get(1).getStartDate(), page.get(0).get("startDate"));
+        assertEquals(inserted.get(1).getEndDate(), page.get(0).get("endDate"));
+    }
+}
@@ -0,0 +1,53 @@
+package com.bridgelabz.campaign.service;
+
+import com.bridgelabz.campaign.model.CampaignChangeEvent;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CampaignChangeFeedTest {
+
+    private final CampaignChangeFeed feed = new CampaignChangeFeed(10, 16);
+
+    @Test
+    void newSubscriberOnlySeesEventsFromNowOn() {
+        feed.deleted(1, "Old");
+        List<CampaignChangeEvent> received = new CopyOnWriteArrayList<>();
+        Disposable subscription = feed.subscribe(null).subscribe(received::add);
+
+        feed.deleted(2, "New");
+        subscription.dispose();
+
+        assertEquals(List.of(2), received.stream().map(CampaignChangeEvent::getCampaignId).toList());
+    }
+
+    @Test
+    void resumingSubscriberIsCaughtUpAfterItsLastEvent() {
+        List<CampaignChangeEvent> first = new CopyOnWriteArrayList<>();
+        Disposable subscription = feed.subscribe(null).subscribe(first::add);
+        feed.deleted(1, "One");
+        subscription.dispose();
+        feed.deleted(2, "Two");
+        feed.deleted(3, "Three");
+
+        List<CampaignChangeEvent> resumed = new CopyOnWriteArrayList<>();
+        feed.subscribe(first.get(0).getId()).subscribe(resumed::add).dispose();
+
+        assertEquals(List.of(2, 3), resumed.stream().map(CampaignChangeEvent::getCampaignId).toList());
+    }
+
+    @Test
+    void unknownIdIsAnsweredWithResync() {
+        feed.deleted(1, "One");
+
+        List<CampaignChangeEvent> received = new CopyOnWriteArrayList<>();
+        feed.subscribe("elsewhere-5").subscribe(received::add).dispose();
+
+        assertEquals(CampaignChangeEvent.Type.RESYNC, received.get(0).getType());
+        assertEquals(List.of(1), received.stream().skip(1).map(CampaignChangeEvent::getCampaignId).toList());
+    }
+}
@@ -0,0 +1,56 @@
+package com.bridgelabz.campaign.service;
+
+import com.bridgelabz.campaign.model.Campaign;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CampaignChangeTrackerTest {
+
+    private final CampaignChangeTracker tracker = new CampaignChangeTracker(Duration.ofMinutes(5));
+
+    @Test
+    void wildcardIsNotAnExactMatch() {
+        String etag = tracker.tableETag();
+
+        assertFalse(CampaignChangeTracker.matches("*", etag));
+        assertTrue(CampaignChangeTracker.wildcard(" * "));
+        assertFalse(CampaignChangeTracker.wildcard(etag));
+        assertFalse(CampaignChangeTracker.wildcard(null));
+    }
+
+    @Test
+    void matchesAnyTagOfAList() {
+        String etag = tracker.tableETag();
+
+        assertTrue(CampaignChangeTracker.matches("\"other\", " + etag, etag));
+        tracker.markChanged();
+        assertFalse(CampaignChangeTracker.matches(etag, tracker.tableETag()));
+    }
+
+    @Test
+    void rowTagSurvivesAnotherTableTag() {
+        Campaign campaign = new Campaign(7, "Campaign 7", "C7", null, Instant.EPOCH, Instant.EPOCH.plus(Duration.ofDays(1)), 3, 60, true, false, 2);
+
+        String etag = CampaignChangeTracker.rowETag(campaign, "~k", "elsewhere-1-0");
+
+        assertEquals("7.2.a~k", CampaignChangeTracker.rowTagOf(etag));
+        assertNull(CampaignChangeTracker.rowTagOf(etag + ", \"other\""));
+    }
+
+    @Test
+    void encodingVariantFollowsTheNegotiatedType() {
+        assertEquals("", CampaignChangeTracker.encodingVariant(null));
+        assertEquals("", CampaignChangeTracker.encodingVariant("*/*"));
+        assertEquals("", CampaignChangeTracker.encodingVariant("application/json, application/cbor;q=0.5"));
+        assertEquals("+cbor", CampaignChangeTracker.encodingVariant("application/cbor"));
+        assertEquals("+smile", CampaignChangeTracker.encodingVariant("application/json;q=0.1, application/x-jackson-smile"));
+        assertEquals("", CampaignChangeTracker.encodingVariant("not a media type"));
+    }
+}
@@ -0,0 +1,240 @@
+package com.bridgelabz.campaign.service;
+
+import com.bridgelabz.campaign.model.Campaign;
+import com.bridgelabz.campaign.repository.CampaignRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CampaignIntervalIndexTest {
+
+    private static final Instant BASE = Instant.parse("2024-01-01T00:00:00Z");
+
+    private CampaignRepository campaignRepository;
+    private CampaignIntervalIndex index;
+
+    @BeforeEach
+    void setUp() {
+        campaignRepository = mock(CampaignRepository.class);
+        index = new CampaignIntervalIndex(campaignRepository);
+    }
+
+    @Test
+    void queriesMatchBruteForce() {
+        Random random = new Random(42);
+        List<Campaign> campaigns = new ArrayList<>();
+        for (int id = 1; id <= 500; id++) {
+            Instant start = BASE.plus(Duration.ofHours(random.nextInt(2000)));
+            campaigns.add(campaign(id, start, start.plus(Duration.ofHours(1 + random.nextInt(300)))));
+        }
+        load(campaigns);
+
+        for (int i = 0; i < 200; i++) {
+            Instant at = BASE.plus(Duration.ofHours(random.nextInt(2400)));
+            Instant to = at.plus(Duration.ofHours(random.nextInt(100)));
+            assertEquals(ids(campaigns, c -> c.getStartDate().isBefore(at) && c.getEndDate().isAfter(at)), sortedIds(index.liveAt(at)));
+            List<Campaign> starting = index.startingBetween(at, to);
+            List<Campaign> ending = index.endingBetween(at, to);
+            assertEquals(ids(campaigns, c -> !c.getStartDate().isBefore(at) && c.getStartDate().isBefore(to)), sortedIds(starting));
+            assertEquals(ids(campaigns, c -> !c.getEndDate().isBefore(at) && c.getEndDate().isBefore(to)), sortedIds(ending));
+            assertTrue(isSorted(starting, Comparator.comparing(Campaign::getStartDate)));
+            assertTrue(isSorted(ending, Comparator.comparing(Campaign::getEndDate)));
+        }
+    }
+
+    @Test
+    void writesThroughTheOverlayMatchBruteForce() {
+        Random random = new Random(7);
+        Map<Integer, Campaign> model = new HashMap<>();
+        for (int id = 1; id <= 200; id++) {
+            model.put(id, randomCampaign(random, id));
+        }
+        load(new ArrayList<>(model.values()));
+
+        // Enough single-row writes to fold the overlay into fresh builds several times
+        for (int write = 0; write < 400; write++) {
+            int id = 1 + random.nextInt(260);
+            if (random.nextInt(4) == 0) {
+                index.remove(id);
+                model.remove(id);
+            } else {
+                Campaign campaign = randomCampaign(random, id);
+                index.put(campaign);
+                model.put(id, campaign);
+            }
+            Instant at = BASE.plus(Duration.ofHours(random.nextInt(2400)));
+            Instant to = at.plus(Duration.ofHours(random.nextInt(200)));
+            List<Campaign> campaigns = new ArrayList<>(model.values());
+            assertEquals(model.size(), index.size());
+            assertEquals(ids(campaigns, c -> c.getStartDate().isBefore(at) && c.getEndDate().isAfter(at)), sortedIds(index.liveAt(at)));
+            List<Campaign> starting = index.startingBetween(at, to);
+            assertEquals(ids(campaigns, c -> !c.getStartDate().isBefore(at) && c.getStartDate().isBefore(to)), sortedIds(starting));
+            assertTrue(isSorted(starting, Comparator.comparing(Campaign::getStartDate)));
+            assertEquals(ids(campaigns, c -> !c.getEndDate().isBefore(at) && c.getEndDate().isBefore(to)), sortedIds(index.endingBetween(at, to)));
+            Instant expectedNext = campaigns.stream()
+                    .flatMap(c -> Stream.of(c.getStartDate(), c.getEndDate()))
+                    .filter(instant -> instant.isAfter(at))
+                    .min(Comparator.naturalOrder())
+                    .orElse(null);
+            assertEquals(expectedNext, index.nextTransitionAfter(at));
+            assertEquals(model.get(id), index.get(id));
+        }
+    }
+
+    @Test
+    void liveWindowIsExclusiveAtBothEnds() {
+        Instant start = BASE.plus(Duration.ofDays(1));
+        Instant end = start.plus(Duration.ofDays(1));
+        load(List.of(campaign(1, start, end)));
+
+        assertTrue(index.liveAt(start).isEmpty());
+        assertEquals(1, index.liveAt(start.plusMillis(1)).size());
+        assertTrue(index.liveAt(end).isEmpty());
+    }
+
+    @Test
+    void mutationsKeepQueriesConsistent() {
+        load(List.of(campaign(1, BASE, BASE.plus(Duration.ofDays(2))), campaign(2, BASE.plus(Duration.ofDays(1)), BASE.plus(Duration.ofDays(3)))));
+        Instant at = BASE.plus(Duration.ofHours(36));
+
+        index.put(campaign(3, BASE.plus(Duration.ofHours(30)), BASE.plus(Duration.ofDays(4))));
+        assertEquals(List.of(1, 2, 3), sortedIds(index.liveAt(at)));
+
+        // Moving a campaign re-sorts it rather than leaving a stale entry behind
+        index.put(campaign(1, BASE.plus(Duration.ofDays(5)), BASE.plus(Duration.ofDays(6))));
+        assertEquals(List.of(2, 3), sortedIds(index.liveAt(at)));
+        assertEquals(List.of(2, 3, 1), idsInOrder(index.startingBetween(BASE, BASE.plus(Duration.ofDays(10)))));
+
+        index.remove(2);
+        assertEquals(List.of(3), sortedIds(index.liveAt(at)));
+        assertNull(index.get(2));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void mutationsDuringReloadAreReplayed() {
+        Sinks.Many<Campaign> rows = Sinks.many().unicast().onBackpressureBuffer();
+        when(campaignRepository.findAll()).thenReturn(rows.asFlux());
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        index.reload().subscribe(null, failure::set);
+
+        // Written after the reload's query ran, so the loaded rows still hold the old state
+        index.put(campaign(2, BASE, BASE.plus(Duration.ofDays(2))));
+        index.remove(1);
+        rows.tryEmitNext(campaign(1, BASE, BASE.plus(Duration.ofDays(1))));
+        rows.tryEmitComplete();
+
+        assertNull(failure.get());
+        assertTrue(index.isReady());
+        assertNull(index.get(1));
+        assertEquals(List.of(2), sortedIds(index.liveAt(BASE.plus(Duration.ofHours(1)))));
+    }
+
+    @Test
+    void overlappingReloadsKeepTheNewerResult() {
+        Sinks.Many<Campaign> older = Sinks.many().unicast().onBackpressureBuffer();
+        Sinks.Many<Campaign> newer = Sinks.many().unicast().onBackpressureBuffer();
+        when(campaignRepository.findAll()).thenReturn(older.asFlux(), newer.asFlux());
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        index.reload().subscribe(null, failure::set);
+        index.reload().subscribe(null, failure::set);
+
+        newer.tryEmitNext(campaign(2, BASE, BASE.plus(Duration.ofDays(2))));
+        newer.tryEmitComplete();
+        index.put(campaign(3, BASE, BASE.plus(Duration.ofDays(2))));
+        older.tryEmitNext(campaign(1, BASE, BASE.plus(Duration.ofDays(2))));
+        older.tryEmitComplete();
+
+        assertNull(failure.get());
+        assertEquals(List.of(2, 3), sortedIds(index.liveAt(BASE.plus(Duration.ofHours(1)))));
+    }
+
+    @Test
+    void activationFlipsOnlyCampaignsCrossingABoundary() {
+        Campaign started = campaign(1, BASE, BASE.plus(Duration.ofDays(2)));
+        Campaign ended = campaign(2, BASE, BASE.plus(Duration.ofHours(12)));
+        ended.setActive(true);
+        Campaign stillActive = campaign(3, BASE, BASE.plus(Duration.ofDays(3)));
+        stillActive.setActive(true);
+        Campaign upcoming = campaign(4, BASE.plus(Duration.ofDays(5)), BASE.plus(Duration.ofDays(6)));
+        load(List.of(started, ended, stillActive, upcoming));
+        Instant at = BASE.plus(Duration.ofDays(1));
+
+        List<Campaign> flipped = index.applyActivation(at);
+
+        assertEquals(List.of(1, 2), sortedIds(flipped));
+        assertTrue(index.get(1).isActive());
+        assertFalse(index.get(2).isActive());
+        assertTrue(index.get(3).isActive());
+        // Loaded rows are not changed in place, readers of the previous snapshot keep a consistent view
+        assertFalse(started.isActive());
+        assertTrue(index.applyActivation(at).isEmpty());
+    }
+
+    @Test
+    void nextTransitionIsTheEarliestBoundaryAfterTheInstant() {
+        load(List.of(campaign(1, BASE, BASE.plus(Duration.ofDays(2))), campaign(2, BASE.plus(Duration.ofDays(1)), BASE.plus(Duration.ofDays(3)))));
+
+        assertEquals(BASE, index.nextTransitionAfter(BASE.minusMillis(1)));
+        assertEquals(BASE.plus(Duration.ofDays(1)), index.nextTransitionAfter(BASE));
+        assertEquals(BASE.plus(Duration.ofDays(2)), index.nextTransitionAfter(BASE.plus(Duration.ofDays(1))));
+        assertEquals(BASE.plus(Duration.ofDays(3)), index.nextTransitionAfter(BASE.plus(Duration.ofDays(2))));
+        assertNull(index.nextTransitionAfter(BASE.plus(Duration.ofDays(3))));
+    }
+
+    private void load(List<Campaign> campaigns) {
+        when(campaignRepository.findAll()).thenReturn(Flux.fromIterable(campaigns));
+        index.reload().block();
+    }
+
+    private static Campaign randomCampaign(Random random, int id) {
+        Instant start = BASE.plus(Duration.ofHours(random.nextInt(2000)));
+        return campaign(id, start, start.plus(Duration.ofHours(1 + random.nextInt(300))));
+    }
+
+    private static Campaign campaign(int id, Instant start, Instant end) {
+        return new Campaign(id, "Campaign " + id, "C" + id, null, start, end, 3, 60, false, false, 0);
+    }
+
+    private static List<Integer> ids(List<Campaign> campaigns, Predicate<Campaign> filter) {
+        return campaigns.stream().filter(filter).map(Campaign::getCampaignId).sorted().collect(Collectors.toList());
+    }
+
+    private static List<Integer> sortedIds(List<Campaign> campaigns) {
+        return campaigns.stream().map(Campaign::getCampaignId).sorted().collect(Collectors.toList());
+    }
+
+    private static boolean isSorted(List<Campaign> campaigns, Comparator<Campaign> order) {
+        for (int i = 1; i < campaigns.size(); i++) {
+            if (order.compare(campaigns.get(i - 1), campaigns.get(i)) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<Integer> idsInOrder(List<Campaign> campaigns) {
+        return campaigns.stream().map(Campaign::getCampaignId).collect(Collectors.toList());
+    }
+}
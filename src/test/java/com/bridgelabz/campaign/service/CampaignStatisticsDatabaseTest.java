@@ -0,0 +1,113 @@
+package com.bridgelabz.campaign.service;
+
+import com.bridgelabz.campaign.CampaignApplication;
+import com.bridgelabz.campaign.model.Campaign;
+import com.bridgelabz.campaign.model.CampaignDto;
+import com.bridgelabz.campaign.repository.CampaignArchiveRepository;
+import com.bridgelabz.campaign.repository.CampaignRepository;
+import com.bridgelabz.campaign.utility.ResponseMessage;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Drives creates, updates, archives and deletes through the service against an embedded database
+ * and checks after each step that the counters kept by the mutation hooks equal a fresh recount
+ * of the tables.
+ */
+class CampaignStatisticsDatabaseTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(15);
+
+    private static ConfigurableApplicationContext context;
+    private static CampaignServiceImpl campaignService;
+    private static CampaignStatistics statistics;
+    private static CampaignRepository campaignRepository;
+    private static CampaignArchiveRepository campaignArchiveRepository;
+
+    @BeforeAll
+    static void startApplication() throws InterruptedException {
+        context = new SpringApplicationBuilder(CampaignApplication.class).profiles("statistics").run();
+        campaignService = context.getBean(CampaignServiceImpl.class);
+        statistics = context.getBean(CampaignStatistics.class);
+        campaignRepository = context.getBean(CampaignRepository.class);
+        campaignArchiveRepository = context.getBean(CampaignArchiveRepository.class);
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (!statistics.isReady()) {
+            if (System.nanoTime() > deadline) {
+                fail("Campaign statistics were not loaded within " + TIMEOUT);
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    @AfterAll
+    static void stopApplication() {
+        context.close();
+    }
+
+    @Test
+    void countersMatchTheTablesAfterEveryMutation() {
+        Instant start = Instant.now().plus(Duration.ofDays(1));
+        int first = create(new CampaignDto("Stats first", "S1", null, start, start.plus(Duration.ofDays(5)), 1, 40, false, false));
+        int second = create(new CampaignDto("Stats second", "S2", null, start, start.plus(Duration.ofDays(5)), 4, 75, false, false));
+        int third = create(new CampaignDto("Stats third", "S3", null, start.plus(Duration.ofDays(2)), start.plus(Duration.ofDays(9)), 12, 95, false, false));
+        assertMatchesTables();
+
+        // Moves the campaign to other maxAttempts and passPercentage buckets
+        assertOk(campaignService.update(second, new CampaignDto("Stats second", "S2", null, start, start.plus(Duration.ofDays(5)), 7, 55, false, false)));
+        assertMatchesTables();
+
+        assertOk(campaignService.archive(first));
+        assertMatchesTables();
+
+        assertOk(campaignService.deleteById(third));
+        assertMatchesTables();
+
+        // Created with the archive flag, the campaign goes straight to the archive table
+        int archivedOnCreate = create(new CampaignDto("Stats archived", "SA", null, start, start.plus(Duration.ofDays(3)), 2, 50, false, true));
+        assertFalse(campaignRepository.existsById(archivedOnCreate).block(TIMEOUT));
+        assertMatchesTables();
+    }
+
+    private static int create(CampaignDto campaignDto) {
+        ResponseEntity<ResponseMessage> response = assertOk(campaignService.createCampaign(campaignDto));
+        return ((Campaign) response.getBody().getData()).getCampaignId();
+    }
+
+    private static ResponseEntity<ResponseMessage> assertOk(Mono<ResponseEntity<ResponseMessage>> call) {
+        ResponseEntity<ResponseMessage> response = call.block(TIMEOUT);
+        assertEquals(HttpStatus.OK, response.getStatusCode(), () -> String.valueOf(response.getBody()));
+        return response;
+    }
+
+    private static void assertMatchesTables() {
+        Map<String, Object> maintained = counters();
+        statistics.reconcile().block(TIMEOUT);
+        Map<String, Object> recounted = counters();
+        assertEquals(recounted, maintained);
+        assertEquals(campaignRepository.count().block(TIMEOUT), maintained.get("total"));
+        assertEquals(campaignArchiveRepository.count().block(TIMEOUT), maintained.get("archived"));
+    }
+
+    // Everything but the recount timestamp, which differs by design
+    private static Map<String, Object> counters() {
+        Map<String, Object> counters = new LinkedHashMap<>(statistics.snapshot());
+        counters.remove("reconciledAt");
+        return counters;
+    }
+}
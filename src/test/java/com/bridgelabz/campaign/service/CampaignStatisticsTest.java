@@ -0,0 +1,105 @@
+package com.bridgelabz.campaign.service;
+
+import com.bridgelabz.campaign.model.Campaign;
+import com.bridgelabz.campaign.model.CampaignField;
+import com.bridgelabz.campaign.repository.CampaignArchiveRepository;
+import com.bridgelabz.campaign.repository.CampaignRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CampaignStatisticsTest {
+
+    private static final Instant NOW = Instant.now();
+
+    private CampaignRepository campaignRepository;
+    private CampaignArchiveRepository campaignArchiveRepository;
+    private CampaignStatistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        campaignRepository = mock(CampaignRepository.class);
+        campaignArchiveRepository = mock(CampaignArchiveRepository.class);
+        when(campaignArchiveRepository.count()).thenReturn(Mono.just(2L));
+        statistics = new CampaignStatistics(campaignRepository, campaignArchiveRepository);
+    }
+
+    @Test
+    void overlappingReconcilesShareOneRecount() {
+        Sinks.Many<Map<String, Object>> rows = Sinks.many().unicast().onBackpressureBuffer();
+        when(campaignRepository.findAllProjected(any())).thenReturn(rows.asFlux());
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        statistics.reconcile().subscribe(null, failure::set);
+        statistics.reconcile().subscribe(null, failure::set);
+
+        // Written while the recount is running, replayed on top of the counted rows
+        statistics.put(campaign(2, NOW.plus(Duration.ofDays(1)), NOW.plus(Duration.ofDays(3)), false));
+        rows.tryEmitNext(row(campaign(1, NOW.minus(Duration.ofDays(1)), NOW.plus(Duration.ofDays(1)), true)));
+        rows.tryEmitComplete();
+
+        assertNull(failure.get());
+        verify(campaignRepository, times(1)).findAllProjected(any());
+        assertTrue(statistics.isReady());
+        assertEquals(2L, statistics.snapshot().get("total"));
+        assertEquals(1L, statistics.snapshot().get("active"));
+        assertEquals(1L, statistics.snapshot().get("upcoming"));
+        assertEquals(2L, statistics.snapshot().get("archived"));
+    }
+
+    @Test
+    void reconcileRunsAgainOnceThePreviousOneFinished() {
+        when(campaignRepository.findAllProjected(any())).thenReturn(Flux.empty());
+
+        statistics.reconcile().block();
+        statistics.reconcile().block();
+
+        verify(campaignRepository, times(2)).findAllProjected(any());
+    }
+
+    @Test
+    void failedReconcileDoesNotBlockTheNextOne() {
+        when(campaignRepository.findAllProjected(any()))
+                .thenReturn(Flux.error(new IllegalStateException("connection lost")), Flux.empty());
+
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        statistics.reconcile().subscribe(null, failure::set);
+        assertFalse(statistics.isReady());
+        statistics.reconcile().block();
+
+        assertEquals("connection lost", failure.get().getMessage());
+        assertTrue(statistics.isReady());
+    }
+
+    private static Campaign campaign(int id, Instant start, Instant end, boolean active) {
+        return new Campaign(id, "Campaign " + id, "C" + id, null, start, end, 3, 60, active, false, 0);
+    }
+
+    private static Map<String, Object> row(Campaign campaign) {
+        Map<String, Object> row = new HashMap<>();
+        row.put(CampaignField.CAMPAIGN_ID.getProperty(), campaign.getCampaignId());
+        row.put(CampaignField.CAMPAIGN_NAME.getProperty(), campaign.getCampaignName());
+        row.put(CampaignField.END_DATE.getProperty(), campaign.getEndDate());
+        row.put(CampaignField.MAX_ATTEMPTS.getProperty(), campaign.getMaxAttempts());
+        row.put(CampaignField.PASS_PERCENTAGE.getProperty(), campaign.getPassPercentage());
+        row.put(CampaignField.ACTIVE.getProperty(), campaign.isActive());
+        return row;
+    }
+}
@@ -0,0 +1,126 @@
+package com.bridgelabz.campaign.startup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Launches the packaged service in fresh JVMs and records time-to-ready as reported by
+ * StartupTimeReporter, for the plain JIT start, the AOT start and AOT plus the CDS archive.
+ * Run by {@code mvn -Pstartup verify}; the report goes to {@code target/startup/startup-report.json}.
+ * <p>
+ * Arguments: application classpath, CDS archive, runs per mode, report file.
+ */
+public class StartupTimeBenchmark {
+
+    private static final String MAIN_CLASS = "com.bridgelabz.campaign.CampaignApplication";
+    // Matched anywhere in the line, the service logs it inside a JSON layout
+    private static final Pattern READY_LINE = Pattern.compile("time-to-ready=(\\d+)ms");
+    private static final long RUN_TIMEOUT_SECONDS = 120;
+
+    public static void main(String[] args) throws Exception {
+        String classpath = args[0];
+        Path cdsArchive = Path.of(args[1]);
+        int runs = Integer.parseInt(args[2]);
+        Path reportFile = Path.of(args[3]);
+
+        Map<String, List<String>> modes = new LinkedHashMap<>();
+        modes.put("jit", List.of());
+        modes.put("aot", List.of("-Dspring.aot.enabled=true"));
+        if (Files.exists(cdsArchive)) {
+            modes.put("aot-cds", List.of("-Dspring.aot.enabled=true", "-XX:SharedArchiveFile=" + cdsArchive));
+        } else {
+            System.out.println("No CDS archive at " + cdsArchive + ", skipping the aot-cds mode");
+        }
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        for (Map.Entry<String, List<String>> mode : modes.entrySet()) {
+            long[] samples = new long[runs];
+            for (int run = 0; run < runs; run++) {
+                samples[run] = launch(classpath, mode.getValue());
+                System.out.printf("%s run %d: %d ms%n", mode.getKey(), run + 1, samples[run]);
+            }
+            results.put(mode.getKey(), summary(samples));
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("javaVersion", System.getProperty("java.version"));
+        report.put("runsPerMode", runs);
+        report.put("timeToReadyMillis", results);
+        Files.createDirectories(reportFile.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(reportFile.toFile(), report);
+        System.out.println("Startup report written to " + reportFile);
+    }
+
+    private static long launch(String classpath, List<String> modeArguments) throws Exception {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(modeArguments);
+        // No registry, no database traffic before ready; the process is stopped once it reports
+        command.add("-Deureka.client.enabled=false");
+        command.add("-cp");
+        command.add(classpath);
+        command.add(MAIN_CLASS);
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        CompletableFuture<Long> timeToReady = new CompletableFuture<>();
+        // Read on a separate thread so a hung service cannot block the timeout below
+        Thread reader = new Thread(() -> readTimeToReady(process, timeToReady), "startup-output-reader");
+        reader.setDaemon(true);
+        reader.start();
+        try {
+            return timeToReady.get(RUN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Service did not report time-to-ready within " + RUN_TIMEOUT_SECONDS + "s");
+        } finally {
+            process.destroy();
+            if (!process.waitFor(RUN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static void readTimeToReady(Process process, CompletableFuture<Long> timeToReady) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Matcher matcher = READY_LINE.matcher(line);
+                if (!timeToReady.isDone() && matcher.find()) {
+                    timeToReady.complete(Long.parseLong(matcher.group(1)));
+                }
+            }
+            timeToReady.completeExceptionally(new IllegalStateException(
+                    "Service exited without reporting time-to-ready, exit code " + process.waitFor()));
+        } catch (Exception e) {
+            timeToReady.completeExceptionally(e);
+        }
+    }
+
+    private static Map<String, Object> summary(long[] samples) {
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("min", sorted[0]);
+        summary.put("median", sorted[sorted.length / 2]);
+        summary.put("max", sorted[sorted.length - 1]);
+        summary.put("mean", Arrays.stream(sorted).average().orElse(0));
+        summary.put("samples", samples);
+        return summary;
+    }
+}
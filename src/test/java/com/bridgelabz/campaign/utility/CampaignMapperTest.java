@@ -0,0 +1,116 @@
+package com.bridgelabz.campaign.utility;
+
+import com.bridgelabz.campaign.model.Campaign;
+import com.bridgelabz.campaign.model.CampaignDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.MatchingStrategies;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * The hand-written {@link CampaignMapper} against the STRICT ModelMapper mapping it replaced.
+ */
+class CampaignMapperTest {
+
+    private static final Instant START = Instant.parse("2024-03-01T09:30:15.123Z");
+    private static final Instant END = Instant.parse("2024-03-08T18:00:00Z");
+
+    private ModelMapper modelMapper;
+    private CampaignMapper campaignMapper;
+
+    @BeforeEach
+    void setUp() {
+        modelMapper = new ModelMapper();
+        modelMapper.getConfiguration().setMatchingStrategy(MatchingStrategies.STRICT);
+        campaignMapper = new CampaignMapper();
+    }
+
+    @Test
+    void convertToEntityMatchesModelMapperForFullDto() {
+        CampaignDto campaignDto = new CampaignDto("Java Basics", "JB", "Introductory MCQ campaign", START, END, 3, 60, true, true);
+        campaignDto.setVersion(4);
+
+        assertSameCampaign(modelMapper.map(campaignDto, Campaign.class), campaignMapper.convertToEntity(campaignDto));
+    }
+
+    @Test
+    void convertToEntityMatchesModelMapperForNulls() {
+        CampaignDto campaignDto = new CampaignDto(null, null, null, null, null, null, null, false, false);
+
+        Campaign campaign = campaignMapper.convertToEntity(campaignDto);
+
+        assertSameCampaign(modelMapper.map(campaignDto, Campaign.class), campaign);
+        assertNull(campaign.getStartDate());
+        assertNull(campaign.getVersion());
+    }
+
+    @Test
+    void convertToEntityLeavesIdUnset() {
+        CampaignDto campaignDto = new CampaignDto("Java Basics", "JB", null, START, END, 3, 60, false, false);
+
+        assertEquals(0, campaignMapper.convertToEntity(campaignDto).getCampaignId());
+    }
+
+    @Test
+    void convertToDtoCopiesEveryField() {
+        Campaign campaign = new Campaign(7, "Java Basics", "JB", "Introductory MCQ campaign", START, END, 3, 60, true, false, 2);
+
+        CampaignDto campaignDto = campaignMapper.convertToDto(campaign);
+
+        assertEquals("Java Basics", campaignDto.getCampaignName());
+        assertEquals("JB", campaignDto.getShortName());
+        assertEquals("Introductory MCQ campaign", campaignDto.getCampaignDescription());
+        assertEquals(START, campaignDto.getStartDate());
+        assertEquals(END, campaignDto.getEndDate());
+        assertEquals(3, campaignDto.getMaxAttempts());
+        assertEquals(60, campaignDto.getPassPercentage());
+        assertEquals(true, campaignDto.isActive());
+        assertEquals(false, campaignDto.isArchive());
+        assertEquals(2, campaignDto.getVersion());
+    }
+
+    @Test
+    void convertToDtoCopiesNulls() {
+        Campaign campaign = new Campaign(7, null, null, null, null, null, null, null, false, true, null);
+
+        CampaignDto campaignDto = campaignMapper.convertToDto(campaign);
+
+        assertNull(campaignDto.getCampaignName());
+        assertNull(campaignDto.getShortName());
+        assertNull(campaignDto.getCampaignDescription());
+        assertNull(campaignDto.getStartDate());
+        assertNull(campaignDto.getEndDate());
+        assertNull(campaignDto.getMaxAttempts());
+        assertNull(campaignDto.getPassPercentage());
+        assertEquals(false, campaignDto.isActive());
+        assertEquals(true, campaignDto.isArchive());
+        assertNull(campaignDto.getVersion());
+    }
+
+    @Test
+    void nullSourceFailsLikeModelMapper() {
+        assertThrows(IllegalArgumentException.class, () -> modelMapper.map(null, Campaign.class));
+        assertThrows(IllegalArgumentException.class, () -> campaignMapper.convertToEntity(null));
+        assertThrows(IllegalArgumentException.class, () -> campaignMapper.convertToDto(null));
+    }
+
+    private static void assertSameCampaign(Campaign expected, Campaign actual) {
+        assertEquals(expected.getCampaignId(), actual.getCampaignId());
+        assertEquals(expected.getCampaignName(), actual.getCampaignName());
+        assertEquals(expected.getShortName(), actual.getShortName());
+        assertEquals(expected.getCampaignDescription(), actual.getCampaignDescription());
+        assertEquals(expected.getStartDate(), actual.getStartDate());
+        assertEquals(expected.getEndDate(), actual.getEndDate());
+        assertEquals(expected.getMaxAttempts(), actual.getMaxAttempts());
+        assertEquals(expected.getPassPercentage(), actual.getPassPercentage());
+        assertEquals(expected.isActive(), actual.isActive());
+        assertEquals(expected.isArchive(), actual.isArchive());
+        assertEquals(expected.getVersion(), actual.getVersion());
+    }
+}
@@ -0,0 +1,148 @@
+package com.bridgelabz.campaign.utility;
+
+import com.bridgelabz.campaign.model.Campaign;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * {@link CampaignValidator#collectViolations(Campaign)} against the path it replaced: Bean Validation
+ * on the entity annotations followed by {@link CampaignValidator#validateCampaignDates(Campaign)}.
+ */
+class CampaignValidatorTest {
+
+    private static Locale defaultLocale;
+
+    private CampaignValidator campaignValidator;
+    private Validator beanValidator;
+    private Instant start;
+
+    @BeforeAll
+    static void useEnglishMessages() {
+        // The default @NotEmpty message is localized
+        defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.ENGLISH);
+    }
+
+    @AfterAll
+    static void restoreLocale() {
+        Locale.setDefault(defaultLocale);
+    }
+
+    @BeforeEach
+    void setUp() {
+        campaignValidator = new CampaignValidator();
+        beanValidator = Validation.buildDefaultValidatorFactory().getValidator();
+        start = Instant.now().plus(Duration.ofDays(2));
+    }
+
+    @Test
+    void validCampaignHasNoViolations() {
+        assertViolations(campaign(start, start.plus(Duration.ofDays(7)), 3, 60));
+    }
+
+    @Test
+    void endDateEqualToStartDate() {
+        assertViolations(campaign(start, start, 3, 60), "End date must be greater than start date");
+    }
+
+    @Test
+    void endDateOneDayAfterStartIsAccepted() {
+        assertViolations(campaign(start, start.plus(Duration.ofDays(1)), 3, 60));
+    }
+
+    @Test
+    void endDateJustUnderOneDayAfterStart() {
+        assertViolations(campaign(start, start.plus(Duration.ofDays(1)).minusMillis(1), 3, 60), "End date must be greater than start date");
+    }
+
+    @Test
+    void startDateInThePast() {
+        Instant past = Instant.now().minus(Duration.ofDays(1));
+        assertViolations(campaign(past, past.plus(Duration.ofDays(7)), 3, 60), "Start date must be greater than current date");
+    }
+
+    @Test
+    void nullDates() {
+        assertViolations(campaign(null, null, 3, 60), "Start date is required", "End date is required");
+        assertViolations(campaign(start, null, 3, 60), "End date is required");
+        assertViolations(campaign(null, start, 3, 60), "Start date is required");
+    }
+
+    @Test
+    void passPercentageLimits() {
+        Instant end = start.plus(Duration.ofDays(7));
+        assertViolations(campaign(start, end, 3, 0));
+        assertViolations(campaign(start, end, 3, 100));
+        assertViolations(campaign(start, end, 3, -1), "Pass percentage cannot be negative");
+        assertViolations(campaign(start, end, 3, 101), "Pass percentage cannot be greater than 100");
+        assertViolations(campaign(start, end, 3, null), "Pass percentage is required");
+    }
+
+    @Test
+    void maxAttemptsLimits() {
+        Instant end = start.plus(Duration.ofDays(7));
+        assertViolations(campaign(start, end, 1, 60));
+        assertViolations(campaign(start, end, 0, 60), "Max attempts must be greater than or equal to 1");
+        assertViolations(campaign(start, end, null, 60), "Max attempts is required");
+    }
+
+    @Test
+    void campaignName() {
+        Campaign emptyName = campaign(start, start.plus(Duration.ofDays(7)), 3, 60);
+        emptyName.setCampaignName("");
+        assertViolations(emptyName, "must not be empty");
+
+        Campaign nullName = campaign(start, start.plus(Duration.ofDays(7)), 3, 60);
+        nullName.setCampaignName(null);
+        assertViolations(nullName, "Campaign name is required", "must not be empty");
+    }
+
+    @Test
+    void everyViolationIsReported() {
+        Campaign campaign = new Campaign();
+        assertViolations(campaign, "Campaign name is required", "must not be empty", "Start date is required", "End date is required",
+                "Max attempts is required", "Pass percentage is required");
+    }
+
+    // Checks collectViolations against the expected messages and against the old validation path
+    private void assertViolations(Campaign campaign, String... expected) {
+        List<String> violations = campaignValidator.collectViolations(campaign);
+        assertEquals(Set.of(expected), new HashSet<>(violations));
+        assertEquals(expected.length, violations.size());
+        assertEquals(legacyViolations(campaign), new HashSet<>(violations));
+    }
+
+    private Set<String> legacyViolations(Campaign campaign) {
+        Set<String> messages = new HashSet<>();
+        for (ConstraintViolation<Campaign> violation : beanValidator.validate(campaign)) {
+            messages.add(violation.getMessage());
+        }
+        // validateCampaignDates dereferences both dates, the old flow only reached it once they were present
+        if (campaign.getStartDate() != null && campaign.getEndDate() != null) {
+            try {
+                campaignValidator.validateCampaignDates(campaign);
+            } catch (IllegalArgumentException e) {
+                messages.add(e.getMessage());
+            }
+        }
+        return messages;
+    }
+
+    private static Campaign campaign(Instant startDate, Instant endDate, Integer maxAttempts, Integer passPercentage) {
+        return new Campaign(0, "Java Basics", "JB", "Introductory MCQ campaign", startDate, endDate, maxAttempts, passPercentage, false, false, null);
+    }
+}
@@ -0,0 +1,68 @@
+package com.bridgelabz.campaign.utility;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrencyLimiterTest {
+
+    @Test
+    void concurrentCallersNeverOverfillTheQueue() throws InterruptedException {
+        int callers = 64;
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 4, Duration.ofMinutes(1));
+        Sinks.Empty<Void> blocker = Sinks.empty();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Disposable> subscriptions = new CopyOnWriteArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(callers);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < callers; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    subscriptions.add(limiter.run(blocker.asMono())
+                            .subscribe(null, e -> rejected.incrementAndGet()));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        start.countDown();
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        assertEquals(1, limiter.inFlight());
+        assertEquals(4, limiter.queued());
+        assertEquals(callers - 1 - 4, rejected.get());
+        subscriptions.forEach(Disposable::dispose);
+        assertEquals(0, limiter.queued());
+    }
+
+    @Test
+    void rejectionCarriesTheQueueBudgetAsRetryAfter() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 0, Duration.ofMillis(1500));
+        Disposable holder = limiter.run(Mono.never()).subscribe();
+
+        ConcurrencyLimiter.RejectedException rejection = assertThrows(ConcurrencyLimiter.RejectedException.class,
+                () -> limiter.run(Mono.just(1)).block());
+
+        assertEquals(2, rejection.getRetryAfterSeconds());
+        holder.dispose();
+    }
+}